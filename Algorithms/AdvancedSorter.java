@@ -3,209 +3,1765 @@
  * Author: yukthi96
  * Date: 2025-10-16
  *
- * Description: Implements and compares three highly efficient, advanced sorting 
- * algorithms used in production code.
+ * Description: A small primitive sorting library with three production-style algorithms
+ * for int[], long[] and double[], each callable on a whole array or on a range
+ * [fromIndex, toIndex):
+ *  - TimSort: detects natural ascending/descending runs, extends short runs to minRun
+ *    with binary insertion sort, keeps a run stack with the TimSort invariants and merges
+ *    with galloping. One merge buffer per sort call is reused by every merge.
+ *  - IntroSort: median-of-three quicksort that falls back to heapsort when the recursion
+ *    gets too deep, and to insertion sort on small ranges.
+ *  - Dual-Pivot QuickSort: three-way partitioning around two pivots.
+ *  - Parallel IntroSort / Parallel Merge Sort (int[] and long[], fork/join): introsort that
+ *    forks on large partitions, and a merge sort with TimSort leaves, a parallel merge and
+ *    one buffer per call that skips merging halves which are already in order.
+ *  - LSD Radix Sort / American Flag Sort (int[] and long[]): 8-bit digit radix sorts, the
+ *    LSD one with a buffer and skipping digits shared by all keys, the MSD one in place.
+ * The class holds no static mutable state, so any number of threads may sort different
+ * arrays at once. Doubles are sorted in Double.compare order (-0.0 before 0.0, NaN last).
  *
  * Language: Java
  *
- * Time Complexity (General): O(n log n)
+ * Time Complexity (General): O(n log n); TimSort is O(n) on presorted input; radix sorts
+ * are O(n * digits)
  * Worst Case: O(n log n) (IntroSort/TimSort), O(n^2) (Dual-Pivot Quicksort)
- * Space Complexity: O(n) (TimSort/Merge), O(log n) (IntroSort/Dual-Pivot)
+ * Space Complexity: O(n) (TimSort/Merge Sort), O(log n) (IntroSort/Dual-Pivot), O(n) extra for double[]
  */
 
-Commit these two changes, and we can merge immediately! Thanks again! 🚀
-
 import java.util.*;
-import java.util.stream.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class AdvancedSorter {
+
+    public enum Algorithm {TIM_SORT, INTRO_SORT, DUAL_PIVOT_QUICKSORT, PARALLEL_INTRO_SORT, PARALLEL_MERGE_SORT,
+        LSD_RADIX_SORT, AMERICAN_FLAG_SORT}
+
+    private static final int INSERTION_THRESHOLD = 16;
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    private static final int INITIAL_TMP_LENGTH = 256;
+    private static final int MAX_RUN_STACK = 49; // enough for int-indexed arrays given the run invariants
+    private static final int MIN_PARALLEL_LEAF = 1 << 13;
+    private static final int MERGE_GRAIN = 1 << 13;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final int RADIX_THRESHOLD = 64;
+
+    private AdvancedSorter() {
+    }
 
-public class AdvancedSorter {
-    private static int stepCount = 0;
-    
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         Random random = new Random();
-        
+
         System.out.println("⚡ Advanced Hybrid Sorter");
         System.out.print("Enter array size (10-50): ");
         int size = scanner.nextInt();
-        
+
         int[] array = random.ints(size, 1, 100).toArray();
         System.out.println("Original: " + Arrays.toString(array));
-        
+
+        Algorithm[] algorithms = Algorithm.values();
         System.out.println("\n1. TimSort (Hybrid)");
         System.out.println("2. IntroSort (Adaptive)");
         System.out.println("3. Dual-Pivot QuickSort");
-        System.out.print("Choose algorithm (1-3): ");
-        
+        System.out.println("4. Parallel IntroSort");
+        System.out.println("5. Parallel Merge Sort");
+        System.out.println("6. LSD Radix Sort");
+        System.out.println("7. American Flag Sort (in-place MSD radix)");
+        System.out.print("Choose algorithm (1-" + algorithms.length + "): ");
+
         int choice = scanner.nextInt();
-        int[] sorted = sortArray(array.clone(), choice);
-        
+        if (choice < 1 || choice > algorithms.length) {
+            System.out.println("Unknown choice " + choice);
+            return;
+        }
+        Algorithm algorithm = algorithms[choice - 1];
+        int[] sorted = array.clone();
+        long start = System.nanoTime();
+        sortArray(sorted, algorithm);
+        long elapsed = System.nanoTime() - start;
+
         System.out.println("Sorted: " + Arrays.toString(sorted));
-        System.out.println("Steps: " + stepCount);
+        System.out.printf("%s took %.3f ms%n", algorithm, elapsed / 1e6);
         analyzePerformance(array, sorted);
     }
-    
-    private static int[] sortArray(int[] arr, int algorithm) {
-        stepCount = 0;
-        switch(algorithm) {
-            case 1: return timSort(arr);
-            case 2: return introSort(arr);
-            case 3: return dualPivotQuickSort(arr, 0, arr.length-1);
-            default: return arr;
-        }
-    }
-    
-    private static int[] timSort(int[] arr) {
-        int RUN = 32;
-        int n = arr.length;
-        
-        // Insertion sort on small runs
-        for (int i = 0; i < n; i += RUN) {
-            insertionSort(arr, i, Math.min(i + RUN - 1, n - 1));
-        }
-        
-        // Merge sorted runs
-        for (int size = RUN; size < n; size = 2 * size) {
-            for (int left = 0; left < n; left += 2 * size) {
-                int mid = left + size - 1;
-                int right = Math.min(left + 2 * size - 1, n - 1);
-                if (mid < right) {
-                    merge(arr, left, mid, right);
-                }
-            }
-        }
-        return arr;
-    }
-    
-    private static int[] introSort(int[] arr) {
-        int depthLimit = (int) (2 * Math.log(arr.length) / Math.log(2));
-        return introSort(arr, 0, arr.length-1, depthLimit);
-    }
-    
-    private static int[] introSort(int[] arr, int low, int high, int depth) {
-        if (high - low < 16) {
-            insertionSort(arr, low, high);
-            return arr;
-        }
-        if (depth == 0) {
-            heapSort(arr, low, high);
-            return arr;
-        }
-        
-        int pivot = partition(arr, low, high);
-        introSort(arr, low, pivot-1, depth-1);
-        introSort(arr, pivot+1, high, depth-1);
-        return arr;
-    }
-    
-    private static int[] dualPivotQuickSort(int[] arr, int low, int high) {
-        if (low < high) {
-            int[] pivots = dualPartition(arr, low, high);
-            dualPivotQuickSort(arr, low, pivots[0] - 1);
-            dualPivotQuickSort(arr, pivots[0] + 1, pivots[1] - 1);
-            dualPivotQuickSort(arr, pivots[1] + 1, high);
-        }
-        return arr;
-    }
-    
-    private static int[] dualPartition(int[] arr, int low, int high) {
-        if (arr[low] > arr[high]) swap(arr, low, high);
-        
-        int lt = low + 1, gt = high - 1, i = low + 1;
-        int pivot1 = arr[low], pivot2 = arr[high];
-        
-        while (i <= gt) {
-            if (arr[i] < pivot1) {
-                swap(arr, i++, lt++);
-            } else if (arr[i] > pivot2) {
-                swap(arr, i, gt--);
-            } else {
-                i++;
-            }
-            stepCount++;
-        }
-        swap(arr, low, --lt);
-        swap(arr, high, gt + 1);
-        
-        return new int[]{lt, gt + 1};
-    }
-    
+
+    private static void analyzePerformance(int[] original, int[] sorted) {
+        int[] expected = original.clone();
+        Arrays.sort(expected);
+        System.out.println("Correctly sorted: " + Arrays.equals(expected, sorted));
+
+        // The same algorithm on the other element types and on a sub-range
+        double[] doubles = {3.5, -0.0, Double.NaN, 0.0, -7.25, Double.NEGATIVE_INFINITY, 1e-9};
+        sortArray(doubles, Algorithm.TIM_SORT);
+        System.out.println("Doubles: " + Arrays.toString(doubles));
+        long[] longs = {9L, Long.MIN_VALUE, 4L, 1L << 40, -3L, 0L};
+        introSort(longs, 1, 5);
+        System.out.println("Longs, range [1, 5) sorted: " + Arrays.toString(longs));
+    }
+
+    private static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        if (toIndex > length) throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+
+    // Leaf size for the parallel sorts: about four leaves per worker, never below MIN_PARALLEL_LEAF
+    private static int parallelLeaf(int n, ForkJoinPool pool) {
+        return pool.getParallelism() == 1 ? n : Math.max(MIN_PARALLEL_LEAF, n / (pool.getParallelism() << 2));
+    }
+
+    // Run length in [MIN_MERGE / 2, MIN_MERGE] such that n / minRun is close to a power of two
+    private static int minRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= n & 1;
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    // ---------------------------------------------------------------- int[]
+
+    public static void sortArray(int[] arr, Algorithm algorithm) {
+        sortArray(arr, 0, arr.length, algorithm);
+    }
+
+    // Sorts arr[fromIndex, toIndex) with the chosen algorithm
+    public static void sortArray(int[] arr, int fromIndex, int toIndex, Algorithm algorithm) {
+        switch (algorithm) {
+            case TIM_SORT: timSort(arr, fromIndex, toIndex); break;
+            case INTRO_SORT: introSort(arr, fromIndex, toIndex); break;
+            case DUAL_PIVOT_QUICKSORT: dualPivotQuickSort(arr, fromIndex, toIndex); break;
+            case PARALLEL_INTRO_SORT: parallelIntroSort(arr, fromIndex, toIndex, ForkJoinPool.commonPool()); break;
+            case PARALLEL_MERGE_SORT: parallelMergeSort(arr, fromIndex, toIndex, ForkJoinPool.commonPool()); break;
+            case LSD_RADIX_SORT: lsdRadixSort(arr, fromIndex, toIndex); break;
+            case AMERICAN_FLAG_SORT: americanFlagSort(arr, fromIndex, toIndex); break;
+            default: throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+    }
+
+    public static void timSort(int[] arr) {
+        timSort(arr, 0, arr.length);
+    }
+
+    public static void timSort(int[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        IntTimSort.sort(arr, fromIndex, toIndex);
+    }
+
+    public static void introSort(int[] arr) {
+        introSort(arr, 0, arr.length);
+    }
+
+    public static void introSort(int[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        introSort(arr, fromIndex, toIndex, 2 * (31 - Integer.numberOfLeadingZeros(Math.max(toIndex - fromIndex, 1))));
+    }
+
+    public static void dualPivotQuickSort(int[] arr) {
+        dualPivotQuickSort(arr, 0, arr.length);
+    }
+
+    public static void dualPivotQuickSort(int[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        dualPivotQuickSortInclusive(arr, fromIndex, toIndex - 1);
+    }
+
+    public static void parallelIntroSort(int[] arr) {
+        parallelIntroSort(arr, 0, arr.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Introsort that forks both sides of every partition larger than the leaf size onto pool;
+     * smaller ranges and ranges that hit the depth limit are sorted sequentially.
+     */
+    public static void parallelIntroSort(int[] arr, int fromIndex, int toIndex, ForkJoinPool pool) {
+        checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+        int leaf = parallelLeaf(n, pool);
+        if (n <= leaf) {
+            introSort(arr, fromIndex, toIndex, depth);
+        } else {
+            pool.invoke(new IntIntroSortTask(arr, fromIndex, toIndex, depth, leaf));
+        }
+    }
+
+    public static void parallelMergeSort(int[] arr) {
+        parallelMergeSort(arr, 0, arr.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merge sort that sorts leaf ranges with TimSort in parallel and merges halves with a
+     * parallel merge. A single buffer of toIndex - fromIndex elements is allocated per call
+     * and shared by every leaf and merge, each using its own slice. Halves that are already
+     * in order are not merged at all, so mostly sorted input costs little more than a scan.
+     */
+    public static void parallelMergeSort(int[] arr, int fromIndex, int toIndex, ForkJoinPool pool) {
+        checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        int leaf = parallelLeaf(n, pool);
+        if (n <= leaf) {
+            IntTimSort.sort(arr, fromIndex, toIndex);
+        } else {
+            pool.invoke(new IntMergeSortTask(arr, new int[n], fromIndex, fromIndex, toIndex, leaf));
+        }
+    }
+
+    private static final class IntIntroSortTask extends RecursiveAction {
+        private final int[] arr;
+        private final int low, high, depth, leaf;
+
+        IntIntroSortTask(int[] arr, int low, int high, int depth, int leaf) {
+            this.arr = arr;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= leaf || depth == 0) {
+                introSort(arr, low, high, depth);
+                return;
+            }
+            int split = partition(arr, low, high);
+            invokeAll(new IntIntroSortTask(arr, low, split + 1, depth - 1, leaf),
+                    new IntIntroSortTask(arr, split + 1, high, depth - 1, leaf));
+        }
+    }
+
+    // Sorts arr[low, high); buf[i - offset] is the scratch slot for arr[i]
+    private static final class IntMergeSortTask extends RecursiveAction {
+        private final int[] arr, buf;
+        private final int offset, low, high, leaf;
+
+        IntMergeSortTask(int[] arr, int[] buf, int offset, int low, int high, int leaf) {
+            this.arr = arr;
+            this.buf = buf;
+            this.offset = offset;
+            this.low = low;
+            this.high = high;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= leaf) {
+                IntTimSort.sort(arr, low, high, buf, low - offset);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            invokeAll(new IntMergeSortTask(arr, buf, offset, low, mid, leaf),
+                    new IntMergeSortTask(arr, buf, offset, mid, high, leaf));
+            if (arr[mid - 1] <= arr[mid]) return;
+
+            // Left elements <= arr[mid] and right elements >= arr[mid - 1] are already in place
+            int start = low + IntTimSort.gallopRight(arr[mid], arr, low, mid - low, 0);
+            int end = mid + IntTimSort.gallopLeft(arr[mid - 1], arr, mid, high - mid, high - mid - 1);
+            System.arraycopy(arr, start, buf, start - offset, end - start);
+            new IntMergeTask(buf, start - offset, mid - offset, mid - offset, end - offset, arr, start).invoke();
+        }
+    }
+
+    // Merges the sorted src[lo1, hi1) and src[lo2, hi2) into dst from out, splitting large merges in two
+    private static final class IntMergeTask extends RecursiveAction {
+        private final int[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out;
+
+        IntMergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int out) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= MERGE_GRAIN || n1 == 0 || n2 == 0) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) {
+                    dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+                }
+                System.arraycopy(src, i, dst, k, hi1 - i);
+                System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+                return;
+            }
+            // Split the longer run at its middle and the other run where that value belongs
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lo2 + IntTimSort.gallopLeft(src[m1], src, lo2, n2, 0);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = lo1 + IntTimSort.gallopRight(src[m2], src, lo1, n1, 0);
+            }
+            invokeAll(new IntMergeTask(src, lo1, m1, lo2, m2, dst, out),
+                    new IntMergeTask(src, m1, hi1, m2, hi2, dst, out + (m1 - lo1) + (m2 - lo2)));
+        }
+    }
+
+    public static void lsdRadixSort(int[] arr) {
+        lsdRadixSort(arr, 0, arr.length);
+    }
+
+    /**
+     * Least-significant-digit radix sort on 8-bit digits. One pass over the keys builds the
+     * histograms of every digit; digits on which all keys agree (e.g. the high bytes of
+     * nearby timestamps) are then skipped. The remaining digits are scattered back and forth
+     * between arr and one buffer of toIndex - fromIndex elements. The sign bit is flipped so
+     * negative keys come first.
+     */
+    public static void lsdRadixSort(int[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        if (n < RADIX_THRESHOLD) {
+            introSort(arr, fromIndex, toIndex);
+            return;
+        }
+        int digits = 32 / RADIX_BITS;
+        int[][] counts = new int[digits][RADIX];
+        for (int i = fromIndex; i < toIndex; i++) {
+            int key = arr[i] ^ Integer.MIN_VALUE;
+            for (int d = 0; d < digits; d++) {
+                counts[d][(key >>> (d * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+
+        int[] src = arr, dst = new int[n];
+        int srcBase = fromIndex, dstBase = 0;
+        for (int d = 0; d < digits; d++) {
+            int shift = d * RADIX_BITS;
+            int[] count = counts[d];
+            if (count[((src[srcBase] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK] == n) continue;
+
+            int sum = dstBase;
+            for (int b = 0; b < RADIX; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = srcBase; i < srcBase + n; i++) {
+                int value = src[i];
+                dst[count[((value ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++] = value;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int b = srcBase;
+            srcBase = dstBase;
+            dstBase = b;
+        }
+        if (src != arr) System.arraycopy(src, srcBase, arr, fromIndex, n);
+    }
+
+    public static void americanFlagSort(int[] arr) {
+        americanFlagSort(arr, 0, arr.length);
+    }
+
+    /**
+     * In-place most-significant-digit radix sort (American flag sort) on 8-bit digits: each
+     * range is counted, permuted into its buckets by following cycles, and every bucket is
+     * sorted on the next digit; small buckets finish with insertion sort. Needs only
+     * O(digits * 256) extra ints, so it suits memory-constrained runs where lsdRadixSort's
+     * buffer is too large.
+     */
+    public static void americanFlagSort(int[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        if (toIndex - fromIndex < RADIX_THRESHOLD) {
+            introSort(arr, fromIndex, toIndex);
+            return;
+        }
+        americanFlagSort(arr, fromIndex, toIndex, 32 - RADIX_BITS, new int[32 / RADIX_BITS][RADIX + 1], new int[RADIX]);
+    }
+
+    // bounds[shift / RADIX_BITS] holds the bucket boundaries of this level; next is shared scratch
+    private static void americanFlagSort(int[] arr, int low, int high, int shift, int[][] bounds, int[] next) {
+        int[] start = bounds[shift / RADIX_BITS];
+        Arrays.fill(start, 0);
+        for (int i = low; i < high; i++) {
+            start[(((arr[i] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK) + 1]++;
+        }
+        if (start[(((arr[low] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK) + 1] == high - low) {
+            // Every key has the same digit here
+            if (shift > 0) americanFlagSort(arr, low, high, shift - RADIX_BITS, bounds, next);
+            return;
+        }
+        start[0] = low;
+        for (int b = 0; b < RADIX; b++) {
+            start[b + 1] += start[b];
+        }
+
+        System.arraycopy(start, 0, next, 0, RADIX);
+        for (int b = 0; b < RADIX; b++) {
+            int end = start[b + 1];
+            while (next[b] < end) {
+                // Carry the misplaced key to its bucket, picking up the key found there, until one belongs in b
+                int value = arr[next[b]];
+                int digit = ((value ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK;
+                while (digit != b) {
+                    int displaced = arr[next[digit]];
+                    arr[next[digit]++] = value;
+                    value = displaced;
+                    digit = ((value ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK;
+                }
+                arr[next[b]++] = value;
+            }
+        }
+
+        if (shift == 0) return;
+        for (int b = 0; b < RADIX; b++) {
+            int size = start[b + 1] - start[b];
+            if (size >= RADIX_THRESHOLD) {
+                americanFlagSort(arr, start[b], start[b + 1], shift - RADIX_BITS, bounds, next);
+            } else if (size > 1) {
+                insertionSort(arr, start[b], start[b + 1]);
+            }
+        }
+    }
+
+    // Quicksort on [low, high) with median-of-three pivots; heapsort once depth runs out
+    private static void introSort(int[] arr, int low, int high, int depth) {
+        while (high - low > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+            int split = partition(arr, low, high);
+            // Recurse into the smaller side and loop on the larger one: O(log n) stack
+            if (split + 1 - low < high - split - 1) {
+                introSort(arr, low, split + 1, depth);
+                low = split + 1;
+            } else {
+                introSort(arr, split + 1, high, depth);
+                high = split + 1;
+            }
+        }
+        insertionSort(arr, low, high);
+    }
+
+    // Hoare partition of [low, high) around the median of three; returns j with [low, j] <= [j + 1, high)
     private static int partition(int[] arr, int low, int high) {
-        int pivot = arr[high];
-        int i = low - 1;
-        
-        for (int j = low; j < high; j++) {
-            if (arr[j] <= pivot) {
-                swap(arr, ++i, j);
+        int mid = (low + high) >>> 1;
+        if (arr[mid] < arr[low]) swap(arr, mid, low);
+        if (arr[high - 1] < arr[low]) swap(arr, high - 1, low);
+        if (arr[high - 1] < arr[mid]) swap(arr, high - 1, mid);
+        int pivot = arr[mid];
+
+        int i = low - 1, j = high;
+        while (true) {
+            do i++; while (arr[i] < pivot);
+            do j--; while (arr[j] > pivot);
+            if (i >= j) return j;
+            swap(arr, i, j);
+        }
+    }
+
+    private static void dualPivotQuickSortInclusive(int[] arr, int low, int high) {
+        while (high - low >= INSERTION_THRESHOLD) {
+            // Pivots from the tertiles instead of the ends, so sorted input is not quadratic
+            int third = (high - low) / 3;
+            swap(arr, low, low + third);
+            swap(arr, high, high - third);
+            if (arr[low] > arr[high]) swap(arr, low, high);
+
+            int lt = low + 1, gt = high - 1, i = low + 1;
+            int pivot1 = arr[low], pivot2 = arr[high];
+            while (i <= gt) {
+                if (arr[i] < pivot1) {
+                    swap(arr, i++, lt++);
+                } else if (arr[i] > pivot2) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
             }
-            stepCount++;
+            swap(arr, low, --lt);
+            swap(arr, high, ++gt);
+
+            dualPivotQuickSortInclusive(arr, low, lt - 1);
+            if (pivot1 < pivot2) dualPivotQuickSortInclusive(arr, lt + 1, gt - 1);
+            low = gt + 1;
         }
-        swap(arr, i + 1, high);
-        return i + 1;
+        insertionSort(arr, low, high + 1);
     }
-    
+
+    // Insertion sort of [low, high)
     private static void insertionSort(int[] arr, int low, int high) {
-        for (int i = low + 1; i <= high; i++) {
+        for (int i = low + 1; i < high; i++) {
             int key = arr[i];
             int j = i - 1;
             while (j >= low && arr[j] > key) {
                 arr[j + 1] = arr[j];
                 j--;
-                stepCount++;
             }
             arr[j + 1] = key;
         }
     }
-    
+
+    // In-place heapsort of [low, high) with an iterative sift-down
     private static void heapSort(int[] arr, int low, int high) {
-        for (int i = (high - low) / 2 + low; i >= low; i--) {
-            heapify(arr, high - low + 1, i, low);
-        }
-        for (int i = high; i > low; i--) {
-            swap(arr, low, i);
-            heapify(arr, i - low, low, low);
-        }
-    }
-    
-    private static void heapify(int[] arr, int n, int i, int offset) {
-        int largest = i;
-        int left = 2 * (i - offset) + 1 + offset;
-        int right = 2 * (i - offset) + 2 + offset;
-        
-        if (left < offset + n && arr[left] > arr[largest]) largest = left;
-        if (right < offset + n && arr[right] > arr[largest]) largest = right;
-        
-        if (largest != i) {
-            swap(arr, i, largest);
-            heapify(arr, n, largest, offset);
-        }
-        stepCount++;
-    }
-    
-    private static void merge(int[] arr, int left, int mid, int right) {
-        int[] leftArr = Arrays.copyOfRange(arr, left, mid + 1);
-        int[] rightArr = Arrays.copyOfRange(arr, mid + 1, right + 1);
-        
-        int i = 0, j = 0, k = left;
-        while (i < leftArr.length && j < rightArr.length) {
-            arr[k++] = (leftArr[i] <= rightArr[j]) ? leftArr[i++] : rightArr[j++];
-            stepCount++;
-        }
-        while (i < leftArr.length) arr[k++] = leftArr[i++];
-        while (j < rightArr.length) arr[k++] = rightArr[j++];
-    }
-    
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] arr, int offset, int i, int n) {
+        int value = arr[offset + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) child++;
+            if (arr[offset + child] <= value) break;
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+
     private static void swap(int[] arr, int i, int j) {
         int temp = arr[i];
         arr[i] = arr[j];
         arr[j] = temp;
-        stepCount++;
     }
-    
-    private static void analyzePerformance(int[] original, int[] sorted) {
-        boolean isSorted = IntStream.range(0, sorted.length-1)
-            .allMatch(i -> sorted[i] <= sorted[i+1]);
-        System.out.println("Correctly sorted: " + isSorted);
-        System.out.println("Efficiency: " + (stepCount < original.length * original.length ? "Good" : "High steps"));
+
+    /**
+     * TimSort state for one sort call: the run stack and a merge buffer that is reused by
+     * every merge and only grows, so merges do not allocate. The buffer is either owned by
+     * the sorter or a caller-supplied slice work[workBase, workBase + length). Instances are
+     * never shared.
+     */
+    private static final class IntTimSort {
+        private final int[] a;
+        private int[] tmp;
+        private int tmpBase;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLen = new int[MAX_RUN_STACK];
+        private int stackSize;
+
+        private IntTimSort(int[] a, int[] tmp, int tmpBase) {
+            this.a = a;
+            this.tmp = tmp;
+            this.tmpBase = tmpBase;
+        }
+
+        static void sort(int[] a, int low, int high) {
+            sort(a, low, high, null, 0);
+        }
+
+        // Sorts a[low, high); work, if not null, has room for high - low elements from workBase
+        static void sort(int[] a, int low, int high, int[] work, int workBase) {
+            int remaining = high - low;
+            if (remaining < 2) return;
+            if (remaining < MIN_MERGE) {
+                int initialRun = countRunAndMakeAscending(a, low, high);
+                binaryInsertionSort(a, low, high, low + initialRun);
+                return;
+            }
+
+            IntTimSort sorter = work != null ? new IntTimSort(a, work, workBase)
+                    : new IntTimSort(a, new int[Math.min(INITIAL_TMP_LENGTH, remaining >>> 1)], 0);
+            int minRun = minRunLength(remaining);
+            do {
+                // Take the next natural run; extend short ones to minRun with insertion sort
+                int run = countRunAndMakeAscending(a, low, high);
+                if (run < minRun) {
+                    int forced = Math.min(remaining, minRun);
+                    binaryInsertionSort(a, low, low + forced, low + run);
+                    run = forced;
+                }
+                sorter.pushRun(low, run);
+                sorter.mergeCollapse();
+                low += run;
+                remaining -= run;
+            } while (remaining != 0);
+            sorter.mergeForceCollapse();
+        }
+
+        // Length of the run starting at low; a strictly descending run is reversed in place
+        private static int countRunAndMakeAscending(int[] a, int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) return 1;
+            if (a[runHigh++] < a[low]) {
+                while (runHigh < high && a[runHigh] < a[runHigh - 1]) runHigh++;
+                for (int i = low, j = runHigh - 1; i < j; i++, j--) swap(a, i, j);
+            } else {
+                while (runHigh < high && a[runHigh] >= a[runHigh - 1]) runHigh++;
+            }
+            return runHigh - low;
+        }
+
+        // Sorts [low, high) given that [low, start) is already sorted
+        private static void binaryInsertionSort(int[] a, int low, int high, int start) {
+            if (start == low) start++;
+            for (; start < high; start++) {
+                int pivot = a[start];
+                int left = low, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (pivot < a[mid]) {
+                        right = mid;
+                    } else {
+                        left = mid + 1;
+                    }
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+            }
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = length;
+            stackSize++;
+        }
+
+        // Merges until the run lengths on the stack shrink faster than the Fibonacci numbers
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // Merges stack runs i and i + 1
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run 1 before the first of run 2, and of run 2 after the last of run 1, are already in place
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) {
+                mergeLo(base1, len1, base2, len2);
+            } else {
+                mergeHi(base1, len1, base2, len2);
+            }
+        }
+
+        // Leftmost position in the sorted a[base, base + len) where key could be inserted, searching from hint
+        private static int gallopLeft(int key, int[] a, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (key > a[base + hint]) {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (key > a[base + m]) {
+                    lastOfs = m + 1;
+                } else {
+                    ofs = m;
+                }
+            }
+            return ofs;
+        }
+
+        // Rightmost insertion position of key in the sorted a[base, base + len), searching from hint
+        private static int gallopRight(int key, int[] a, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (key < a[base + hint]) {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            } else {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (key < a[base + m]) {
+                    ofs = m;
+                } else {
+                    lastOfs = m + 1;
+                }
+            }
+            return ofs;
+        }
+
+        // Merges adjacent runs with len1 <= len2, copying the first run to the buffer
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            int[] a = this.a;
+            int[] tmp = ensureCapacity(len1);
+            System.arraycopy(a, base1, tmp, tmpBase, len1);
+            int cursor1 = tmpBase, cursor2 = base2, dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(tmp, cursor1, a, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = tmp[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0; // how many times in a row each run won
+                do {
+                    if (a[cursor2] < tmp[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        a[dest++] = tmp[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // One run keeps winning: gallop, copying whole stretches at once
+                do {
+                    count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(tmp, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    a[dest++] = tmp[cursor1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2; // penalty for leaving galloping mode
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = tmp[cursor1];
+            } else {
+                System.arraycopy(tmp, cursor1, a, dest, len1);
+            }
+        }
+
+        // Merges adjacent runs with len1 > len2 from the back, copying the second run to the buffer
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            int[] a = this.a;
+            int[] tmp = ensureCapacity(len2);
+            System.arraycopy(a, base2, tmp, tmpBase, len2);
+            int cursor1 = base1 + len1 - 1, cursor2 = tmpBase + len2 - 1, dest = base2 + len2 - 1;
+
+            a[dest--] = a[cursor1--];
+            if (--len1 == 0) {
+                System.arraycopy(tmp, tmpBase, a, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = tmp[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (tmp[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        a[dest--] = tmp[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    a[dest--] = tmp[cursor2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(a[cursor1], tmp, tmpBase, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = tmp[cursor2];
+            } else {
+                System.arraycopy(tmp, tmpBase, a, dest - (len2 - 1), len2);
+            }
+        }
+
+        private int[] ensureCapacity(int minCapacity) {
+            if (tmp.length - tmpBase < minCapacity) {
+                // Grow geometrically, but never beyond half the array (the larger run is never copied)
+                int capacity = Math.max(minCapacity, Math.min(tmp.length * 2, a.length >>> 1));
+                tmp = new int[capacity];
+                tmpBase = 0;
+            }
+            return tmp;
+        }
+    }
+
+    // ---------------------------------------------------------------- long[]
+
+    public static void sortArray(long[] arr, Algorithm algorithm) {
+        sortArray(arr, 0, arr.length, algorithm);
+    }
+
+    // Sorts arr[fromIndex, toIndex) with the chosen algorithm
+    public static void sortArray(long[] arr, int fromIndex, int toIndex, Algorithm algorithm) {
+        switch (algorithm) {
+            case TIM_SORT: timSort(arr, fromIndex, toIndex); break;
+            case INTRO_SORT: introSort(arr, fromIndex, toIndex); break;
+            case DUAL_PIVOT_QUICKSORT: dualPivotQuickSort(arr, fromIndex, toIndex); break;
+            case PARALLEL_INTRO_SORT: parallelIntroSort(arr, fromIndex, toIndex, ForkJoinPool.commonPool()); break;
+            case PARALLEL_MERGE_SORT: parallelMergeSort(arr, fromIndex, toIndex, ForkJoinPool.commonPool()); break;
+            case LSD_RADIX_SORT: lsdRadixSort(arr, fromIndex, toIndex); break;
+            case AMERICAN_FLAG_SORT: americanFlagSort(arr, fromIndex, toIndex); break;
+            default: throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+    }
+
+    public static void timSort(long[] arr) {
+        timSort(arr, 0, arr.length);
+    }
+
+    public static void timSort(long[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        LongTimSort.sort(arr, fromIndex, toIndex);
+    }
+
+    public static void introSort(long[] arr) {
+        introSort(arr, 0, arr.length);
+    }
+
+    public static void introSort(long[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        introSort(arr, fromIndex, toIndex, 2 * (31 - Integer.numberOfLeadingZeros(Math.max(toIndex - fromIndex, 1))));
+    }
+
+    public static void dualPivotQuickSort(long[] arr) {
+        dualPivotQuickSort(arr, 0, arr.length);
+    }
+
+    public static void dualPivotQuickSort(long[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        dualPivotQuickSortInclusive(arr, fromIndex, toIndex - 1);
+    }
+
+    public static void parallelIntroSort(long[] arr) {
+        parallelIntroSort(arr, 0, arr.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Introsort that forks both sides of every partition larger than the leaf size onto pool;
+     * smaller ranges and ranges that hit the depth limit are sorted sequentially.
+     */
+    public static void parallelIntroSort(long[] arr, int fromIndex, int toIndex, ForkJoinPool pool) {
+        checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+        int leaf = parallelLeaf(n, pool);
+        if (n <= leaf) {
+            introSort(arr, fromIndex, toIndex, depth);
+        } else {
+            pool.invoke(new LongIntroSortTask(arr, fromIndex, toIndex, depth, leaf));
+        }
+    }
+
+    public static void parallelMergeSort(long[] arr) {
+        parallelMergeSort(arr, 0, arr.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merge sort that sorts leaf ranges with TimSort in parallel and merges halves with a
+     * parallel merge. A single buffer of toIndex - fromIndex elements is allocated per call
+     * and shared by every leaf and merge, each using its own slice. Halves that are already
+     * in order are not merged at all, so mostly sorted input costs little more than a scan.
+     */
+    public static void parallelMergeSort(long[] arr, int fromIndex, int toIndex, ForkJoinPool pool) {
+        checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        int leaf = parallelLeaf(n, pool);
+        if (n <= leaf) {
+            LongTimSort.sort(arr, fromIndex, toIndex);
+        } else {
+            pool.invoke(new LongMergeSortTask(arr, new long[n], fromIndex, fromIndex, toIndex, leaf));
+        }
+    }
+
+    private static final class LongIntroSortTask extends RecursiveAction {
+        private final long[] arr;
+        private final int low, high, depth, leaf;
+
+        LongIntroSortTask(long[] arr, int low, int high, int depth, int leaf) {
+            this.arr = arr;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= leaf || depth == 0) {
+                introSort(arr, low, high, depth);
+                return;
+            }
+            int split = partition(arr, low, high);
+            invokeAll(new LongIntroSortTask(arr, low, split + 1, depth - 1, leaf),
+                    new LongIntroSortTask(arr, split + 1, high, depth - 1, leaf));
+        }
+    }
+
+    // Sorts arr[low, high); buf[i - offset] is the scratch slot for arr[i]
+    private static final class LongMergeSortTask extends RecursiveAction {
+        private final long[] arr, buf;
+        private final int offset, low, high, leaf;
+
+        LongMergeSortTask(long[] arr, long[] buf, int offset, int low, int high, int leaf) {
+            this.arr = arr;
+            this.buf = buf;
+            this.offset = offset;
+            this.low = low;
+            this.high = high;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= leaf) {
+                LongTimSort.sort(arr, low, high, buf, low - offset);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            invokeAll(new LongMergeSortTask(arr, buf, offset, low, mid, leaf),
+                    new LongMergeSortTask(arr, buf, offset, mid, high, leaf));
+            if (arr[mid - 1] <= arr[mid]) return;
+
+            // Left elements <= arr[mid] and right elements >= arr[mid - 1] are already in place
+            int start = low + LongTimSort.gallopRight(arr[mid], arr, low, mid - low, 0);
+            int end = mid + LongTimSort.gallopLeft(arr[mid - 1], arr, mid, high - mid, high - mid - 1);
+            System.arraycopy(arr, start, buf, start - offset, end - start);
+            new LongMergeTask(buf, start - offset, mid - offset, mid - offset, end - offset, arr, start).invoke();
+        }
+    }
+
+    // Merges the sorted src[lo1, hi1) and src[lo2, hi2) into dst from out, splitting large merges in two
+    private static final class LongMergeTask extends RecursiveAction {
+        private final long[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out;
+
+        LongMergeTask(long[] src, int lo1, int hi1, int lo2, int hi2, long[] dst, int out) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= MERGE_GRAIN || n1 == 0 || n2 == 0) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) {
+                    dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+                }
+                System.arraycopy(src, i, dst, k, hi1 - i);
+                System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+                return;
+            }
+            // Split the longer run at its middle and the other run where that value belongs
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lo2 + LongTimSort.gallopLeft(src[m1], src, lo2, n2, 0);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = lo1 + LongTimSort.gallopRight(src[m2], src, lo1, n1, 0);
+            }
+            invokeAll(new LongMergeTask(src, lo1, m1, lo2, m2, dst, out),
+                    new LongMergeTask(src, m1, hi1, m2, hi2, dst, out + (m1 - lo1) + (m2 - lo2)));
+        }
+    }
+
+    public static void lsdRadixSort(long[] arr) {
+        lsdRadixSort(arr, 0, arr.length);
+    }
+
+    /**
+     * Least-significant-digit radix sort on 8-bit digits. One pass over the keys builds the
+     * histograms of every digit; digits on which all keys agree (e.g. the high bytes of
+     * nearby timestamps) are then skipped. The remaining digits are scattered back and forth
+     * between arr and one buffer of toIndex - fromIndex elements. The sign bit is flipped so
+     * negative keys come first.
+     */
+    public static void lsdRadixSort(long[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        if (n < RADIX_THRESHOLD) {
+            introSort(arr, fromIndex, toIndex);
+            return;
+        }
+        int digits = 64 / RADIX_BITS;
+        int[][] counts = new int[digits][RADIX];
+        for (int i = fromIndex; i < toIndex; i++) {
+            long key = arr[i] ^ Long.MIN_VALUE;
+            for (int d = 0; d < digits; d++) {
+                counts[d][(int) (key >>> (d * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+
+        long[] src = arr, dst = new long[n];
+        int srcBase = fromIndex, dstBase = 0;
+        for (int d = 0; d < digits; d++) {
+            int shift = d * RADIX_BITS;
+            int[] count = counts[d];
+            if (count[(int) ((src[srcBase] ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK] == n) continue;
+
+            int sum = dstBase;
+            for (int b = 0; b < RADIX; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = srcBase; i < srcBase + n; i++) {
+                long value = src[i];
+                dst[count[(int) ((value ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK]++] = value;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int b = srcBase;
+            srcBase = dstBase;
+            dstBase = b;
+        }
+        if (src != arr) System.arraycopy(src, srcBase, arr, fromIndex, n);
+    }
+
+    public static void americanFlagSort(long[] arr) {
+        americanFlagSort(arr, 0, arr.length);
+    }
+
+    /**
+     * In-place most-significant-digit radix sort (American flag sort) on 8-bit digits: each
+     * range is counted, permuted into its buckets by following cycles, and every bucket is
+     * sorted on the next digit; small buckets finish with insertion sort. Needs only
+     * O(digits * 256) extra ints, so it suits memory-constrained runs where lsdRadixSort's
+     * buffer is too large.
+     */
+    public static void americanFlagSort(long[] arr, int fromIndex, int toIndex) {
+        checkRange(arr.length, fromIndex, toIndex);
+        if (toIndex - fromIndex < RADIX_THRESHOLD) {
+            introSort(arr, fromIndex, toIndex);
+            return;
+        }
+        americanFlagSort(arr, fromIndex, toIndex, 64 - RADIX_BITS, new int[64 / RADIX_BITS][RADIX + 1], new int[RADIX]);
+    }
+
+    // bounds[shift / RADIX_BITS] holds the bucket boundaries of this level; next is shared scratch
+    private static void americanFlagSort(long[] arr, int low, int high, int shift, int[][] bounds, int[] next) {
+        int[] start = bounds[shift / RADIX_BITS];
+        Arrays.fill(start, 0);
+        for (int i = low; i < high; i++) {
+            start[((int) ((arr[i] ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK) + 1]++;
+        }
+        if (start[((int) ((arr[low] ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK) + 1] == high - low) {
+            // Every key has the same digit here
+            if (shift > 0) americanFlagSort(arr, low, high, shift - RADIX_BITS, bounds, next);
+            return;
+        }
+        start[0] = low;
+        for (int b = 0; b < RADIX; b++) {
+            start[b + 1] += start[b];
+        }
+
+        System.arraycopy(start, 0, next, 0, RADIX);
+        for (int b = 0; b < RADIX; b++) {
+            int end = start[b + 1];
+            while (next[b] < end) {
+                // Carry the misplaced key to its bucket, picking up the key found there, until one belongs in b
+                long value = arr[next[b]];
+                int digit = (int) ((value ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK;
+                while (digit != b) {
+                    long displaced = arr[next[digit]];
+                    arr[next[digit]++] = value;
+                    value = displaced;
+                    digit = (int) ((value ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK;
+                }
+                arr[next[b]++] = value;
+            }
+        }
+
+        if (shift == 0) return;
+        for (int b = 0; b < RADIX; b++) {
+            int size = start[b + 1] - start[b];
+            if (size >= RADIX_THRESHOLD) {
+                americanFlagSort(arr, start[b], start[b + 1], shift - RADIX_BITS, bounds, next);
+            } else if (size > 1) {
+                insertionSort(arr, start[b], start[b + 1]);
+            }
+        }
+    }
+
+    // Quicksort on [low, high) with median-of-three pivots; heapsort once depth runs out
+    private static void introSort(long[] arr, int low, int high, int depth) {
+        while (high - low > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+            int split = partition(arr, low, high);
+            // Recurse into the smaller side and loop on the larger one: O(log n) stack
+            if (split + 1 - low < high - split - 1) {
+                introSort(arr, low, split + 1, depth);
+                low = split + 1;
+            } else {
+                introSort(arr, split + 1, high, depth);
+                high = split + 1;
+            }
+        }
+        insertionSort(arr, low, high);
+    }
+
+    // Hoare partition of [low, high) around the median of three; returns j with [low, j] <= [j + 1, high)
+    private static int partition(long[] arr, int low, int high) {
+        int mid = (low + high) >>> 1;
+        if (arr[mid] < arr[low]) swap(arr, mid, low);
+        if (arr[high - 1] < arr[low]) swap(arr, high - 1, low);
+        if (arr[high - 1] < arr[mid]) swap(arr, high - 1, mid);
+        long pivot = arr[mid];
+
+        int i = low - 1, j = high;
+        while (true) {
+            do i++; while (arr[i] < pivot);
+            do j--; while (arr[j] > pivot);
+            if (i >= j) return j;
+            swap(arr, i, j);
+        }
+    }
+
+    private static void dualPivotQuickSortInclusive(long[] arr, int low, int high) {
+        while (high - low >= INSERTION_THRESHOLD) {
+            // Pivots from the tertiles instead of the ends, so sorted input is not quadratic
+            int third = (high - low) / 3;
+            swap(arr, low, low + third);
+            swap(arr, high, high - third);
+            if (arr[low] > arr[high]) swap(arr, low, high);
+
+            int lt = low + 1, gt = high - 1, i = low + 1;
+            long pivot1 = arr[low], pivot2 = arr[high];
+            while (i <= gt) {
+                if (arr[i] < pivot1) {
+                    swap(arr, i++, lt++);
+                } else if (arr[i] > pivot2) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            swap(arr, low, --lt);
+            swap(arr, high, ++gt);
+
+            dualPivotQuickSortInclusive(arr, low, lt - 1);
+            if (pivot1 < pivot2) dualPivotQuickSortInclusive(arr, lt + 1, gt - 1);
+            low = gt + 1;
+        }
+        insertionSort(arr, low, high + 1);
+    }
+
+    // Insertion sort of [low, high)
+    private static void insertionSort(long[] arr, int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            long key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    // In-place heapsort of [low, high) with an iterative sift-down
+    private static void heapSort(long[] arr, int low, int high) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] arr, int offset, int i, int n) {
+        long value = arr[offset + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) child++;
+            if (arr[offset + child] <= value) break;
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     * TimSort state for one sort call: the run stack and a merge buffer that is reused by
+     * every merge and only grows, so merges do not allocate. The buffer is either owned by
+     * the sorter or a caller-supplied slice work[workBase, workBase + length). Instances are
+     * never shared.
+     */
+    private static final class LongTimSort {
+        private final long[] a;
+        private long[] tmp;
+        private int tmpBase;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLen = new int[MAX_RUN_STACK];
+        private int stackSize;
+
+        private LongTimSort(long[] a, long[] tmp, int tmpBase) {
+            this.a = a;
+            this.tmp = tmp;
+            this.tmpBase = tmpBase;
+        }
+
+        static void sort(long[] a, int low, int high) {
+            sort(a, low, high, null, 0);
+        }
+
+        // Sorts a[low, high); work, if not null, has room for high - low elements from workBase
+        static void sort(long[] a, int low, int high, long[] work, int workBase) {
+            int remaining = high - low;
+            if (remaining < 2) return;
+            if (remaining < MIN_MERGE) {
+                int initialRun = countRunAndMakeAscending(a, low, high);
+                binaryInsertionSort(a, low, high, low + initialRun);
+                return;
+            }
+
+            LongTimSort sorter = work != null ? new LongTimSort(a, work, workBase)
+                    : new LongTimSort(a, new long[Math.min(INITIAL_TMP_LENGTH, remaining >>> 1)], 0);
+            int minRun = minRunLength(remaining);
+            do {
+                // Take the next natural run; extend short ones to minRun with insertion sort
+                int run = countRunAndMakeAscending(a, low, high);
+                if (run < minRun) {
+                    int forced = Math.min(remaining, minRun);
+                    binaryInsertionSort(a, low, low + forced, low + run);
+                    run = forced;
+                }
+                sorter.pushRun(low, run);
+                sorter.mergeCollapse();
+                low += run;
+                remaining -= run;
+            } while (remaining != 0);
+            sorter.mergeForceCollapse();
+        }
+
+        // Length of the run starting at low; a strictly descending run is reversed in place
+        private static int countRunAndMakeAscending(long[] a, int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) return 1;
+            if (a[runHigh++] < a[low]) {
+                while (runHigh < high && a[runHigh] < a[runHigh - 1]) runHigh++;
+                for (int i = low, j = runHigh - 1; i < j; i++, j--) swap(a, i, j);
+            } else {
+                while (runHigh < high && a[runHigh] >= a[runHigh - 1]) runHigh++;
+            }
+            return runHigh - low;
+        }
+
+        // Sorts [low, high) given that [low, start) is already sorted
+        private static void binaryInsertionSort(long[] a, int low, int high, int start) {
+            if (start == low) start++;
+            for (; start < high; start++) {
+                long pivot = a[start];
+                int left = low, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (pivot < a[mid]) {
+                        right = mid;
+                    } else {
+                        left = mid + 1;
+                    }
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+            }
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = length;
+            stackSize++;
+        }
+
+        // Merges until the run lengths on the stack shrink faster than the Fibonacci numbers
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // Merges stack runs i and i + 1
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run 1 before the first of run 2, and of run 2 after the last of run 1, are already in place
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) {
+                mergeLo(base1, len1, base2, len2);
+            } else {
+                mergeHi(base1, len1, base2, len2);
+            }
+        }
+
+        // Leftmost position in the sorted a[base, base + len) where key could be inserted, searching from hint
+        private static int gallopLeft(long key, long[] a, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (key > a[base + hint]) {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key > a[base + hint + ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (key > a[base + m]) {
+                    lastOfs = m + 1;
+                } else {
+                    ofs = m;
+                }
+            }
+            return ofs;
+        }
+
+        // Rightmost insertion position of key in the sorted a[base, base + len), searching from hint
+        private static int gallopRight(long key, long[] a, int base, int len, int hint) {
+            int lastOfs = 0, ofs = 1;
+            if (key < a[base + hint]) {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key < a[base + hint - ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            } else {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            }
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (key < a[base + m]) {
+                    ofs = m;
+                } else {
+                    lastOfs = m + 1;
+                }
+            }
+            return ofs;
+        }
+
+        // Merges adjacent runs with len1 <= len2, copying the first run to the buffer
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            long[] a = this.a;
+            long[] tmp = ensureCapacity(len1);
+            System.arraycopy(a, base1, tmp, tmpBase, len1);
+            int cursor1 = tmpBase, cursor2 = base2, dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(tmp, cursor1, a, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = tmp[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0; // how many times in a row each run won
+                do {
+                    if (a[cursor2] < tmp[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        a[dest++] = tmp[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // One run keeps winning: gallop, copying whole stretches at once
+                do {
+                    count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(tmp, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    a[dest++] = tmp[cursor1++];
+                    if (--len1 == 1) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2; // penalty for leaving galloping mode
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = tmp[cursor1];
+            } else {
+                System.arraycopy(tmp, cursor1, a, dest, len1);
+            }
+        }
+
+        // Merges adjacent runs with len1 > len2 from the back, copying the second run to the buffer
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            long[] a = this.a;
+            long[] tmp = ensureCapacity(len2);
+            System.arraycopy(a, base2, tmp, tmpBase, len2);
+            int cursor1 = base1 + len1 - 1, cursor2 = tmpBase + len2 - 1, dest = base2 + len2 - 1;
+
+            a[dest--] = a[cursor1--];
+            if (--len1 == 0) {
+                System.arraycopy(tmp, tmpBase, a, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = tmp[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (tmp[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        a[dest--] = tmp[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    a[dest--] = tmp[cursor2--];
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(a[cursor1], tmp, tmpBase, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = tmp[cursor2];
+            } else {
+                System.arraycopy(tmp, tmpBase, a, dest - (len2 - 1), len2);
+            }
+        }
+
+        private long[] ensureCapacity(int minCapacity) {
+            if (tmp.length - tmpBase < minCapacity) {
+                // Grow geometrically, but never beyond half the array (the larger run is never copied)
+                int capacity = Math.max(minCapacity, Math.min(tmp.length * 2, a.length >>> 1));
+                tmp = new long[capacity];
+                tmpBase = 0;
+            }
+            return tmp;
+        }
+    }
+
+    // ---------------------------------------------------------------- double[]
+
+    public static void sortArray(double[] arr, Algorithm algorithm) {
+        sortArray(arr, 0, arr.length, algorithm);
+    }
+
+    /**
+     * Sorts arr[fromIndex, toIndex) in Double.compare order. Each value is mapped to a long
+     * whose signed order matches that order, the longs are sorted with the chosen algorithm
+     * and then mapped back.
+     */
+    public static void sortArray(double[] arr, int fromIndex, int toIndex, Algorithm algorithm) {
+        checkRange(arr.length, fromIndex, toIndex);
+        long[] keys = new long[toIndex - fromIndex];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = toSortable(arr[fromIndex + i]);
+        }
+        sortArray(keys, algorithm);
+        for (int i = 0; i < keys.length; i++) {
+            arr[fromIndex + i] = fromSortable(keys[i]);
+        }
+    }
+
+    public static void timSort(double[] arr) {
+        sortArray(arr, 0, arr.length, Algorithm.TIM_SORT);
+    }
+
+    public static void timSort(double[] arr, int fromIndex, int toIndex) {
+        sortArray(arr, fromIndex, toIndex, Algorithm.TIM_SORT);
+    }
+
+    public static void introSort(double[] arr) {
+        sortArray(arr, 0, arr.length, Algorithm.INTRO_SORT);
+    }
+
+    public static void introSort(double[] arr, int fromIndex, int toIndex) {
+        sortArray(arr, fromIndex, toIndex, Algorithm.INTRO_SORT);
+    }
+
+    public static void dualPivotQuickSort(double[] arr) {
+        sortArray(arr, 0, arr.length, Algorithm.DUAL_PIVOT_QUICKSORT);
+    }
+
+    public static void dualPivotQuickSort(double[] arr, int fromIndex, int toIndex) {
+        sortArray(arr, fromIndex, toIndex, Algorithm.DUAL_PIVOT_QUICKSORT);
+    }
+
+    // Negative doubles have their magnitude bits flipped so they order below the positives
+    private static long toSortable(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double fromSortable(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
     }
 }
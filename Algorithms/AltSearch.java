@@ -0,0 +1,238 @@
+/**
+ * Program Title: ALT Search (A* with Landmarks and Triangle Inequality)
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Goal-directed point-to-point shortest paths. A handful of landmark
+ * vertices are chosen once (farthest-first) and the distances from and to every
+ * landmark are stored in flat tables. For any vertex v and target t the triangle
+ * inequality gives two lower bounds on d(v, t):
+ *     d(L, t) - d(L, v)   and   d(v, L) - d(t, L)
+ * The largest of these over the landmarks is a consistent A* heuristic, so the search
+ * is pulled toward the target and settles each vertex at most once. The tables are
+ * built once by Landmarks.select and can be shared, read-only, by any number of
+ * AltSearch engines (one per thread). For each query only the few landmarks that give
+ * the best bound at the source are consulted, which keeps the heuristic cheap.
+ *
+ * Time Complexity: preprocessing O(k (V + E) log V); query O((V' + E') (log V' + a))
+ * with V'/E' the touched part of the graph and a the active landmark count
+ * Space Complexity: O(k V) for the tables, O(V) scratch per engine
+ */
+
+import java.util.Arrays;
+
+public final class AltSearch {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int DEFAULT_ACTIVE_LANDMARKS = 4;
+
+    /**
+     * Precomputed landmark distance tables. Entries are stored vertex-major
+     * (index v * count + i) so that all landmarks of one vertex share a cache line.
+     */
+    public static final class Landmarks {
+        final int count;
+        final int[] vertices;
+        final int[] fromLandmark; // d(L_i, v)
+        final int[] toLandmark;   // d(v, L_i)
+
+        private Landmarks(int[] vertices, int[] fromLandmark, int[] toLandmark) {
+            this.count = vertices.length;
+            this.vertices = vertices;
+            this.fromLandmark = fromLandmark;
+            this.toLandmark = toLandmark;
+        }
+
+        /**
+         * Chooses count landmarks farthest-first: each new landmark is the reachable vertex
+         * whose distance to the nearest already chosen landmark is largest.
+         */
+        public static Landmarks select(CsrGraph graph, int count) {
+            int n = graph.vertexCount();
+            count = Math.min(count, n);
+            int[] vertices = new int[count];
+            int[] fromLandmark = new int[n * count];
+            int[] toLandmark = new int[n * count];
+            int[] nearest = new int[n];
+            Arrays.fill(nearest, Integer.MAX_VALUE);
+
+            DijkstraQuery forward = new DijkstraQuery(graph);
+            DijkstraQuery backward = new DijkstraQuery(graph.reverse());
+            int next = 0;
+            for (int i = 0; i < count; i++) {
+                int landmark = next;
+                vertices[i] = landmark;
+                forward.run(landmark);
+                backward.run(landmark);
+
+                int farthest = -1;
+                for (int v = 0; v < n; v++) {
+                    int from = forward.distance(v);
+                    fromLandmark[v * count + i] = from;
+                    toLandmark[v * count + i] = backward.distance(v);
+                    if (from < nearest[v]) nearest[v] = from;
+                    if (nearest[v] != Integer.MAX_VALUE && (farthest < 0 || nearest[v] > nearest[farthest])) {
+                        farthest = v;
+                    }
+                }
+                next = farthest;
+            }
+            return new Landmarks(vertices, fromLandmark, toLandmark);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int vertex(int i) {
+            return vertices[i];
+        }
+    }
+
+    private final CsrGraph graph;
+    private final Landmarks landmarks;
+    private final int[] active;
+    private final long[] scored; // (-bound << 32 | landmark) scratch for choosing active landmarks
+    private int activeCount;
+    private final int[] dist, parent, reached, potential;
+    private final IndexedDaryHeap heap;
+    private int generation;
+    private int settledCount;
+    private int target;
+
+    public AltSearch(CsrGraph graph, Landmarks landmarks) {
+        this(graph, landmarks, DEFAULT_ACTIVE_LANDMARKS);
+    }
+
+    public AltSearch(CsrGraph graph, Landmarks landmarks, int activeLandmarks) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        int n = graph.vertexCount();
+        active = new int[Math.min(activeLandmarks, landmarks.count)];
+        scored = new long[landmarks.count];
+        dist = new int[n];
+        parent = new int[n];
+        reached = new int[n];
+        potential = new int[n];
+        heap = new IndexedDaryHeap(n);
+    }
+
+    // Shortest distance from source to target, or UNREACHABLE
+    public int distance(int source, int target) {
+        run(source, target);
+        return reached[target] == generation && !heap.contains(target) ? dist[target] : UNREACHABLE;
+    }
+
+    public AltSearch run(int source, int target) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            generation = 1;
+        }
+        this.target = target;
+        heap.clear();
+        settledCount = 0;
+        chooseActiveLandmarks(source);
+
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        int h = lowerBound(source);
+        if (h == UNREACHABLE) return this;
+        reached[source] = generation;
+        dist[source] = 0;
+        parent[source] = -1;
+        potential[source] = h;
+        heap.insert(source, h);
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settledCount++;
+            if (u == target) break;
+
+            int d = dist[u];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                int nd = d + weights[e];
+
+                if (reached[v] != generation) {
+                    int hv = lowerBound(v);
+                    if (hv == UNREACHABLE) continue; // v cannot reach the target
+                    reached[v] = generation;
+                    potential[v] = hv;
+                    dist[v] = nd;
+                    parent[v] = u;
+                    heap.insert(v, nd + hv);
+                } else if (nd < dist[v] && heap.contains(v)) {
+                    dist[v] = nd;
+                    parent[v] = u;
+                    heap.decreaseKey(v, nd + potential[v]);
+                }
+            }
+        }
+        return this;
+    }
+
+    // Vertices settled by the last run
+    public int settledCount() {
+        return settledCount;
+    }
+
+    // Path of the last run (source first), empty if the target was unreachable
+    public int[] path() {
+        if (reached[target] != generation || heap.contains(target)) return new int[0];
+        int length = 0;
+        for (int x = target; x != -1; x = parent[x]) length++;
+        int[] path = new int[length];
+        for (int x = target; x != -1; x = parent[x]) path[--length] = x;
+        return path;
+    }
+
+    // Keep the landmarks that give the largest lower bound from source to target
+    private void chooseActiveLandmarks(int source) {
+        int k = landmarks.count;
+        for (int i = 0; i < k; i++) {
+            scored[i] = ((long) -boundVia(i, source) << 32) | i;
+        }
+        Arrays.sort(scored);
+        activeCount = active.length;
+        for (int i = 0; i < activeCount; i++) {
+            active[i] = (int) scored[i];
+        }
+    }
+
+    // Lower bound on d(v, target) from landmark i, or UNREACHABLE if the landmark proves there is no path
+    private int boundVia(int i, int v) {
+        int k = landmarks.count;
+        int[] from = landmarks.fromLandmark, to = landmarks.toLandmark;
+        int fromV = from[v * k + i], fromT = from[target * k + i];
+        int toV = to[v * k + i], toT = to[target * k + i];
+
+        if (toV == UNREACHABLE && toT != UNREACHABLE) return UNREACHABLE;   // t reaches L but v does not
+        if (fromT == UNREACHABLE && fromV != UNREACHABLE) return UNREACHABLE; // L reaches v but not t
+        int bound = 0;
+        if (fromT != UNREACHABLE && fromV != UNREACHABLE) bound = Math.max(bound, fromT - fromV);
+        if (toV != UNREACHABLE && toT != UNREACHABLE) bound = Math.max(bound, toV - toT);
+        return bound;
+    }
+
+    private int lowerBound(int v) {
+        int best = 0;
+        for (int a = 0; a < activeCount; a++) {
+            int bound = boundVia(active[a], v);
+            if (bound > best) best = bound;
+        }
+        return best;
+    }
+
+    public static void main(String[] args) {
+        CsrGraph graph = CsrGraph.gridGraph(100, 100, 10, 1);
+        Landmarks landmarks = Landmarks.select(graph, 8);
+        AltSearch alt = new AltSearch(graph, landmarks);
+        DijkstraQuery plain = new DijkstraQuery(graph);
+
+        int source = 0, target = 100 * 100 - 1;
+        int d = alt.distance(source, target);
+        plain.run(source, target);
+        System.out.println("ALT distance " + d + " (plain Dijkstra " + plain.distance(target) + ")");
+        System.out.println("Settled vertices: ALT " + alt.settledCount() + ", plain " + plain.settledCount());
+        System.out.println("Path length (vertices): " + alt.path().length);
+    }
+}
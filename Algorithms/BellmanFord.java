@@ -7,11 +7,24 @@
  * vertices in a weighted, directed graph. It handles graphs with negative edge
  * weights but is crucial for detecting and reporting negative cycles.
  *
- * Time Complexity: O(V * E) (Vertices * Edges)
+ * Three modes are available (Mode):
+ *   PASSES   - classic full passes over all edges, stopping as soon as a pass changes nothing.
+ *   QUEUE    - SPFA: only vertices whose distance just improved are re-scanned, kept in a
+ *              FIFO work queue; a vertex queued V times signals a negative cycle.
+ *   PARALLEL - full passes where the edge array is split across ForkJoin tasks and distances
+ *              are lowered with an atomic compare-and-set minimum on an AtomicIntegerArray.
+ * Every mode returns a Result holding the distances and, if a negative cycle is reachable
+ * from the source, the vertices of one such cycle in edge order.
+ *
+ * Time Complexity: O(V * E) (Vertices * Edges) worst case; far less with early termination
+ * or the queue mode on typical graphs
  * Space Complexity: O(V + E) (for the distance array and edge list)
  */
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 public class BellmanFord {
 
@@ -26,40 +39,243 @@ public class BellmanFord {
         }
     }
 
+    public enum Mode { PASSES, QUEUE, PARALLEL }
+
+    // Distances from the source plus the vertices of a reachable negative cycle, if any
+    public static final class Result {
+        private static final int[] NO_CYCLE = new int[0];
+
+        private final int[] distance;
+        private final int[] negativeCycle;
+
+        Result(int[] distance, int[] negativeCycle) {
+            this.distance = distance;
+            this.negativeCycle = negativeCycle == null ? NO_CYCLE : negativeCycle;
+        }
+
+        // Integer.MAX_VALUE for unreachable vertices; not meaningful when a negative cycle was found
+        public int[] distances() {
+            return distance;
+        }
+
+        public boolean hasNegativeCycle() {
+            return negativeCycle.length > 0;
+        }
+
+        // Cycle vertices c0 -> c1 -> ... -> c0 in edge order, or an empty array
+        public int[] negativeCycle() {
+            return negativeCycle;
+        }
+    }
+
+    // Edges processed per parallel task before it stops splitting
+    private static final int PARALLEL_LEAF_EDGES = 4096;
+
     // Function that implements the Bellman-Ford algorithm
-    public static void bellmanFord(Edge[] edges, int V, int E, int source) {
-        // Initialize distances from source to all vertices as INFINITE
+    public static Result bellmanFord(Edge[] edges, int V, int E, int source) {
+        return bellmanFord(edges, V, E, source, Mode.PASSES);
+    }
+
+    public static Result bellmanFord(Edge[] edges, int V, int E, int source, Mode mode) {
+        // Lay the edges out as a CSR graph so that every mode shares the same code
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, E);
+        for (int j = 0; j < E; j++) {
+            builder.addEdge(edges[j].source, edges[j].destination, edges[j].weight);
+        }
+        return bellmanFord(builder.build(), source, mode);
+    }
+
+    // Bellman-Ford over a CsrGraph with the default PASSES mode
+    public static Result bellmanFord(CsrGraph graph, int source) {
+        return bellmanFord(graph, source, Mode.PASSES);
+    }
+
+    public static Result bellmanFord(CsrGraph graph, int source, Mode mode) {
+        switch (mode) {
+            case QUEUE:
+                return queue(graph, source);
+            case PARALLEL:
+                return parallel(graph, source, ForkJoinPool.commonPool());
+            default:
+                return passes(graph, source);
+        }
+    }
+
+    // Full passes with early termination. Passes beyond V - 1 only happen with a negative
+    // cycle; they keep going until the cycle shows up in the parent pointers.
+    private static Result passes(CsrGraph graph, int source) {
+        int V = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        int[] distance = new int[V];
+        int[] parent = new int[V];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        distance[source] = 0;
+
+        for (int pass = 1; ; pass++) {
+            boolean changed = false;
+            for (int u = 0; u < V; u++) {
+                int du = distance[u];
+                if (du == Integer.MAX_VALUE) continue;
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (du + weights[e] < distance[v]) {
+                        distance[v] = du + weights[e];
+                        parent[v] = u;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                return new Result(distance, null);
+            }
+            if (pass >= V) {
+                int[] cycle = findParentCycle(parent);
+                if (cycle != null) return new Result(distance, cycle);
+            }
+        }
+    }
+
+    // SPFA: FIFO queue of vertices whose distance improved. Without a negative cycle no
+    // vertex is queued more than V - 1 times (once per Bellman-Ford round).
+    private static Result queue(CsrGraph graph, int source) {
+        int V = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
         int[] distance = new int[V];
+        int[] parent = new int[V];
+        int[] queuedCount = new int[V];
+        boolean[] inQueue = new boolean[V];
         Arrays.fill(distance, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
         distance[source] = 0;
 
-        // Relax all edges |V| - 1 times
-        for (int i = 1; i < V; i++) {
-            for (int j = 0; j < E; j++) {
-                int u = edges[j].source;
-                int v = edges[j].destination;
-                int weight = edges[j].weight;
+        // Circular buffer; at most V vertices are queued at once thanks to inQueue
+        int[] ring = new int[V];
+        int head = 0, size = 1;
+        ring[0] = source;
+        inQueue[source] = true;
 
-                if (distance[u] != Integer.MAX_VALUE && distance[u] + weight < distance[v]) {
-                    distance[v] = distance[u] + weight;
+        while (size > 0) {
+            int u = ring[head];
+            head = head + 1 == V ? 0 : head + 1;
+            size--;
+            inQueue[u] = false;
+
+            int du = distance[u];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                if (du + weights[e] < distance[v]) {
+                    distance[v] = du + weights[e];
+                    parent[v] = u;
+                    if (!inQueue[v]) {
+                        if (++queuedCount[v] % V == 0) {
+                            int[] cycle = findParentCycle(parent);
+                            if (cycle != null) return new Result(distance, cycle);
+                        }
+                        int tail = head + size < V ? head + size : head + size - V;
+                        ring[tail] = v;
+                        size++;
+                        inQueue[v] = true;
+                    }
                 }
             }
         }
+        return new Result(distance, null);
+    }
 
-        // Check for negative-weight cycles
-        for (int i = 0; i < E; i++) {
-            int u = edges[i].source;
-            int v = edges[i].destination;
-            int weight = edges[i].weight;
+    // Passes whose edges are split across ForkJoin tasks. Tasks see each other's updates as
+    // they happen, which never hurts: every pass still does at least the work of a classic
+    // pass, so V - 1 passes suffice and an improving V-th pass proves a negative cycle.
+    private static Result parallel(CsrGraph graph, int source, ForkJoinPool pool) {
+        int V = graph.vertexCount();
+        AtomicIntegerArray distance = new AtomicIntegerArray(V);
+        for (int v = 0; v < V; v++) distance.set(v, Integer.MAX_VALUE);
+        distance.set(source, 0);
+
+        for (int pass = 1; pass <= V; pass++) {
+            PassTask task = new PassTask(graph, distance, 0, V);
+            pool.invoke(task);
+            if (!task.changed) {
+                int[] result = new int[V];
+                for (int v = 0; v < V; v++) result[v] = distance.get(v);
+                return new Result(result, null);
+            }
+        }
+        // The atomic updates keep no consistent parent pointers, so the cycle itself is
+        // recovered sequentially; this cost is only paid when a negative cycle exists.
+        return queue(graph, source);
+    }
+
+    // Relaxes the out-edges of vertices [from, to); changed reports whether any distance dropped
+    private static final class PassTask extends RecursiveAction {
+        private final CsrGraph graph;
+        private final AtomicIntegerArray distance;
+        private final int from, to;
+        boolean changed;
+
+        PassTask(CsrGraph graph, AtomicIntegerArray distance, int from, int to) {
+            this.graph = graph;
+            this.distance = distance;
+            this.from = from;
+            this.to = to;
+        }
 
-            if (distance[u] != Integer.MAX_VALUE && distance[u] + weight < distance[v]) {
-                System.out.println("Graph contains negative weight cycle");
+        @Override
+        protected void compute() {
+            int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+            if (to - from > 1 && offsets[to] - offsets[from] > PARALLEL_LEAF_EDGES) {
+                int mid = (from + to) >>> 1;
+                PassTask left = new PassTask(graph, distance, from, mid);
+                PassTask right = new PassTask(graph, distance, mid, to);
+                invokeAll(left, right);
+                changed = left.changed || right.changed;
                 return;
             }
+            for (int u = from; u < to; u++) {
+                int du = distance.get(u);
+                if (du == Integer.MAX_VALUE) continue;
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    int nd = du + weights[e];
+                    int current = distance.get(v);
+                    while (nd < current) {
+                        if (distance.compareAndSet(v, current, nd)) {
+                            changed = true;
+                            break;
+                        }
+                        current = distance.get(v);
+                    }
+                }
+            }
         }
+    }
 
-        // Print the distances
-        printSolution(distance);
+    // Returns the vertices of a cycle in the parent graph (in edge order), or null if it is a forest.
+    // Any such cycle has negative total weight.
+    private static int[] findParentCycle(int[] parent) {
+        int V = parent.length;
+        int[] seenFrom = new int[V]; // 0 = unvisited, otherwise 1 + the walk start that reached it
+        for (int start = 0; start < V; start++) {
+            if (seenFrom[start] != 0) continue;
+            int v = start;
+            while (v != -1 && seenFrom[v] == 0) {
+                seenFrom[v] = start + 1;
+                v = parent[v];
+            }
+            if (v != -1 && seenFrom[v] == start + 1) {
+                // v lies on a cycle found by this walk; parent pointers run against the edges
+                int length = 1;
+                for (int x = parent[v]; x != v; x = parent[x]) length++;
+                int[] cycle = new int[length];
+                int x = v;
+                for (int i = length - 1; i >= 0; i--) {
+                    cycle[i] = x;
+                    x = parent[x];
+                }
+                return cycle;
+            }
+        }
+        return null;
     }
 
     // Utility function to print the distance array
@@ -93,7 +309,30 @@ public class BellmanFord {
         // Source vertex
         int source = 0;
 
-        // Run Bellman-Ford algorithm
-        bellmanFord(edges, V, E, source);
+        // Run Bellman-Ford algorithm in every mode
+        for (Mode mode : Mode.values()) {
+            System.out.println("\nMode " + mode + ":");
+            print(bellmanFord(edges, V, E, source, mode));
+        }
+
+        // Add a negative cycle 1 -> 4 -> 3 -> 1 (weight 2 - 3 - 1 = -2)
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, E + 1);
+        for (Edge edge : edges) {
+            builder.addEdge(edge.source, edge.destination, edge.weight);
+        }
+        builder.addEdge(3, 1, -1);
+        CsrGraph cyclic = builder.build();
+        for (Mode mode : Mode.values()) {
+            System.out.println("\nMode " + mode + " with edge 3 -> 1 (w=-1):");
+            print(bellmanFord(cyclic, source, mode));
+        }
+    }
+
+    private static void print(Result result) {
+        if (result.hasNegativeCycle()) {
+            System.out.println("Graph contains negative weight cycle: " + Arrays.toString(result.negativeCycle()));
+        } else {
+            printSolution(result.distances());
+        }
     }
 }
@@ -0,0 +1,123 @@
+/**
+ * Program Title: Lock-Free Concurrent Union-Find
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A thread-safe Disjoint Set Union with the same find / union semantics as
+ * UnionFind, so that many threads can union edges at once (Kruskal preprocessing,
+ * connected-components labelling). The parent pointers live in an AtomicIntegerArray
+ * and nothing is ever locked:
+ *   - union links one root below the other with a single compare-and-set that only
+ *     succeeds while the first one is still a root, and retries otherwise;
+ *   - roots are ordered by a fixed pseudo-random priority (a hash of the index, ties
+ *     broken by index) instead of rank, which keeps the expected tree depth logarithmic
+ *     without a second array that would have to be updated atomically together with
+ *     the parent;
+ *   - find uses path halving: each visited node's parent is swung to its grandparent
+ *     with a CAS, which is harmless if another thread got there first.
+ * sameSet(x, y) is linearizable: it only answers false after re-checking that the
+ * root it found for x is still a root.
+ *
+ * Time Complexity: O(log n) expected per operation (amortised near-constant in practice)
+ * Space Complexity: O(n)
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    // Initialize n disjoint sets
+    public ConcurrentUnionFind(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    // Root of x's set; halves the path on the way up
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    // Merge the sets of x and y; false if they were already in the same set
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) return false;
+
+            // The lower-priority root goes below the other one
+            if (lowerPriority(rootY, rootX)) {
+                int t = rootX;
+                rootX = rootY;
+                rootY = t;
+            }
+            if (parent.compareAndSet(rootX, rootX, rootY)) return true;
+            // rootX stopped being a root in the meantime; start over from the new roots
+        }
+    }
+
+    public boolean sameSet(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) return true;
+            // rootY may have been linked below rootX after find(x) returned
+            if (parent.get(rootX) == rootX) return false;
+        }
+    }
+
+    private static boolean lowerPriority(int a, int b) {
+        int pa = priority(a), pb = priority(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    // Fixed pseudo-random priority of an index (murmur3 finaliser)
+    private static int priority(int x) {
+        x ^= x >>> 16;
+        x *= 0x85ebca6b;
+        x ^= x >>> 13;
+        x *= 0xc2b2ae35;
+        return x ^ (x >>> 16);
+    }
+
+    // Example usage: four threads union the edges of a ring, split between them
+    public static void main(String[] args) throws InterruptedException {
+        int n = 1_000_000, threadCount = 4;
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = id; i < n - 1; i += threadCount) {
+                    uf.union(i, i + 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println("Are 0 and " + (n - 1) + " connected? " + uf.sameSet(0, n - 1)); // true
+        ConcurrentUnionFind small = new ConcurrentUnionFind(5);
+        small.union(0, 1);
+        small.union(1, 2);
+        small.union(3, 4);
+        System.out.println("Are 0 and 2 connected? " + (small.find(0) == small.find(2))); // true
+        System.out.println("Are 0 and 3 connected? " + small.sameSet(0, 3)); // false
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Program Title: Concurrent Union-Find Stress Test and Throughput Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Unions the same random edge list with the sequential UnionFind and with
+ * ConcurrentUnionFind on 1, 2, 4, 8, ... threads (up to the number of available
+ * processors, or the count given on the command line), each thread taking an
+ * interleaved share of the edges.
+ * Stress check: while the unions run, every thread also issues sameSet queries on
+ * pairs that are already known to be connected, which must never answer false; after
+ * the run, the number of successful unions must equal V minus the number of sets, and
+ * every vertex must end up in the same set as in the sequential result.
+ * Throughput is reported in million operations per second (best of several runs).
+ *
+ * Usage: java ConcurrentUnionFindBenchmark [vertices] [edges] [maxThreads]
+ * Time Complexity: O(runs * E log V)
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentUnionFindBenchmark {
+
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 8_000_000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        SplittableRandom random = new SplittableRandom(42);
+        int[] src = new int[m];
+        int[] dst = new int[m];
+        for (int i = 0; i < m; i++) {
+            src[i] = random.nextInt(n);
+            dst[i] = random.nextInt(n);
+        }
+        System.out.println("Vertices: " + n + ", edges: " + m);
+
+        // Sequential reference
+        long best = Long.MAX_VALUE;
+        UnionFind reference = null;
+        int expectedUnions = 0;
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            reference = new UnionFind(n);
+            expectedUnions = 0;
+            for (int i = 0; i < m; i++) {
+                if (reference.union(src[i], dst[i])) expectedUnions++;
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("Sequential UnionFind: %8.1f ms  %7.1f Mops/s%n", best / 1e6, m / (best / 1e3));
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            best = Long.MAX_VALUE;
+            boolean ok = true;
+            for (int run = 0; run < MEASURED_RUNS; run++) {
+                ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+                AtomicInteger unions = new AtomicInteger();
+                AtomicLong wrongAnswers = new AtomicLong();
+                long elapsed = runThreads(uf, src, dst, threads, unions, wrongAnswers);
+                best = Math.min(best, elapsed);
+                ok &= wrongAnswers.get() == 0 && unions.get() == expectedUnions && samePartition(uf, reference, n);
+            }
+            // Each edge costs one union plus one sameSet query
+            System.out.printf("%3d threads: %8.1f ms  %7.1f Mops/s  %s%n",
+                    threads, best / 1e6, 2.0 * m / (best / 1e3), ok ? "stress check passed" : "STRESS CHECK FAILED");
+        }
+    }
+
+    private static long runThreads(ConcurrentUnionFind uf, int[] src, int[] dst, int threadCount,
+                                   AtomicInteger unions, AtomicLong wrongAnswers) throws InterruptedException {
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                int localUnions = 0;
+                long wrong = 0;
+                for (int i = id; i < src.length; i += threadCount) {
+                    if (uf.union(src[i], dst[i])) localUnions++;
+                    // This thread already joined src[i] and dst[i], so they stay connected forever
+                    if (!uf.sameSet(dst[i], src[i])) wrong++;
+                }
+                unions.addAndGet(localUnions);
+                wrongAnswers.addAndGet(wrong);
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        return System.nanoTime() - start;
+    }
+
+    // Two vertices share a set in uf exactly when they share one in reference
+    private static boolean samePartition(ConcurrentUnionFind uf, UnionFind reference, int n) {
+        int[] rootMap = new int[n];
+        Arrays.fill(rootMap, -1);
+        for (int v = 0; v < n; v++) {
+            int r = reference.find(v);
+            int c = uf.find(v);
+            if (rootMap[r] == -1) rootMap[r] = c;
+            else if (rootMap[r] != c) return false;
+        }
+        // Same number of distinct roots on both sides
+        int referenceSets = 0, concurrentSets = 0;
+        for (int v = 0; v < n; v++) {
+            if (reference.find(v) == v) referenceSets++;
+            if (uf.find(v) == v) concurrentSets++;
+        }
+        return referenceSets == concurrentSets;
+    }
+}
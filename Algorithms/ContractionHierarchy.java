@@ -0,0 +1,596 @@
+/**
+ * Program Title: Contraction Hierarchies (CH) for Fast Point-to-Point Queries
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A one-time preprocessing step for static directed graphs such as
+ * road networks. Vertices are contracted one by one in order of importance
+ * (edge difference, number of already contracted neighbours and hierarchy level,
+ * refreshed lazily).
+ * Contracting v removes it from the remaining graph; for every pair u -> v -> x a
+ * shortcut u -> x is added unless a bounded "witness" Dijkstra finds a path from u
+ * to x that avoids v and is no longer. The order in which vertices were contracted
+ * is their rank.
+ *
+ * Every shortest path then has an "up-down" shape: ranks increase from the source
+ * to some top vertex and decrease to the target. A query therefore runs a forward
+ * Dijkstra that only follows edges to higher ranks and a backward Dijkstra from the
+ * target that also only climbs, and meets at the top. Both searches stay in a tiny
+ * part of the graph, so queries settle a few hundred vertices instead of millions.
+ * Shortcuts remember the vertex they bypass, so paths can be unpacked.
+ *
+ * The hierarchy is stored as two CSR arrays (upward edges and reversed downward
+ * edges) and can be written to and read back from a compact binary file.
+ *
+ * Usage:
+ *   java ContractionHierarchy build edges.txt graph.ch   (edges.txt in Dijkstra.main's format)
+ *   java ContractionHierarchy query graph.ch source target
+ *   java ContractionHierarchy                            (small demo)
+ *
+ * Time Complexity: preprocessing is heuristic (near-linear on road networks);
+ * queries O((V' + E') log V') over the small upward search spaces
+ * Space Complexity: O(V + E + shortcuts)
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public final class ContractionHierarchy {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int FILE_MAGIC = 0x43483031; // "CH01"
+    private static final int WITNESS_SETTLE_LIMIT = 200;
+    private static final int ESTIMATE_SETTLE_LIMIT = 40; // cheaper searches while only ranking vertices
+
+    private final int n;
+    private final int[] rank;
+    // Upward graph: edges u -> x with rank[u] < rank[x], stored at u
+    private final int[] upOffsets, upTargets, upWeights, upMiddle;
+    // Downward graph reversed: edges u -> x with rank[u] > rank[x], stored at x with target u
+    private final int[] downOffsets, downTargets, downWeights, downMiddle;
+
+    private ContractionHierarchy(int n, int[] rank,
+                                 int[] upOffsets, int[] upTargets, int[] upWeights, int[] upMiddle,
+                                 int[] downOffsets, int[] downTargets, int[] downWeights, int[] downMiddle) {
+        this.n = n;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.downOffsets = downOffsets;
+        this.downTargets = downTargets;
+        this.downWeights = downWeights;
+        this.downMiddle = downMiddle;
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    // Number of edges in the hierarchy (original edges plus shortcuts)
+    public int edgeCount() {
+        return upTargets.length + downTargets.length;
+    }
+
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    // ---------------------------------------------------------------------
+    // Preprocessing
+    // ---------------------------------------------------------------------
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new Contractor(graph).contractAll();
+    }
+
+    /**
+     * Mutable adjacency used while contracting. Each vertex has growable out- and
+     * in-lists of (neighbour, weight, middle) where middle is the bypassed vertex of
+     * a shortcut or -1 for an original edge. Parallel edges are merged to the cheapest.
+     */
+    private static final class Contractor {
+        final int n;
+        final int[][] outTo, outW, outMid, inTo, inW, inMid;
+        final int[] outLen, inLen;
+        final boolean[] contracted;
+        final int[] deletedNeighbors;
+        final int[] level; // 1 + highest level among contracted neighbours (search space depth)
+        final int[] rank;
+
+        // Witness search scratch
+        final int[] witnessDist, witnessStamp, targetStamp;
+        final IndexedDaryHeap witnessHeap;
+        int witnessGeneration, targetGeneration;
+
+        // Shortcut candidates found by findShortcuts: (from, to, weight)
+        int[] candFrom = new int[16], candTo = new int[16], candW = new int[16];
+        int candCount;
+
+        Contractor(CsrGraph graph) {
+            n = graph.vertexCount();
+            outTo = new int[n][];
+            outW = new int[n][];
+            outMid = new int[n][];
+            inTo = new int[n][];
+            inW = new int[n][];
+            inMid = new int[n][];
+            outLen = new int[n];
+            inLen = new int[n];
+            for (int v = 0; v < n; v++) {
+                int cap = Math.max(graph.degree(v), 2);
+                outTo[v] = new int[cap];
+                outW[v] = new int[cap];
+                outMid[v] = new int[cap];
+                inTo[v] = new int[4];
+                inW[v] = new int[4];
+                inMid[v] = new int[4];
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.begin(u); e < graph.end(u); e++) {
+                    int x = graph.target(e);
+                    if (x != u) addOrImprove(u, x, graph.weight(e), -1);
+                }
+            }
+            contracted = new boolean[n];
+            deletedNeighbors = new int[n];
+            level = new int[n];
+            rank = new int[n];
+            witnessDist = new int[n];
+            witnessStamp = new int[n];
+            targetStamp = new int[n];
+            witnessHeap = new IndexedDaryHeap(n);
+        }
+
+        ContractionHierarchy contractAll() {
+            IndexedDaryHeap order = new IndexedDaryHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.insert(v, priority(v));
+            }
+
+            int nextRank = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                // Lazy update: if v got more expensive since it was queued, requeue it
+                int p = priority(v);
+                if (!order.isEmpty() && p > order.peekKey()) {
+                    order.insert(v, p);
+                    continue;
+                }
+
+                findShortcuts(v, WITNESS_SETTLE_LIMIT);
+                for (int i = 0; i < candCount; i++) {
+                    addOrImprove(candFrom[i], candTo[i], candW[i], v);
+                }
+                contracted[v] = true;
+                rank[v] = nextRank++;
+
+                // Neighbours only record the change here; their priority is re-evaluated when polled
+                for (int i = 0; i < outLen[v]; i++) touchNeighbor(v, outTo[v][i]);
+                for (int i = 0; i < inLen[v]; i++) touchNeighbor(v, inTo[v][i]);
+            }
+            return toHierarchy();
+        }
+
+        private void touchNeighbor(int v, int u) {
+            if (contracted[u]) return;
+            deletedNeighbors[u]++;
+            level[u] = Math.max(level[u], level[v] + 1);
+        }
+
+        // Weighted edge difference (shortcuts added minus edges removed), contracted neighbour count and level
+        private int priority(int v) {
+            findShortcuts(v, ESTIMATE_SETTLE_LIMIT);
+            int removed = 0;
+            for (int i = 0; i < outLen[v]; i++) if (!contracted[outTo[v][i]]) removed++;
+            for (int i = 0; i < inLen[v]; i++) if (!contracted[inTo[v][i]]) removed++;
+            return 2 * (candCount - removed) + deletedNeighbors[v] + level[v];
+        }
+
+        // Collects into cand* every shortcut u -> x needed if v were contracted now
+        private void findShortcuts(int v, int settleLimit) {
+            candCount = 0;
+            int maxOut = 0;
+            int targetCount = 0;
+            targetGeneration++;
+            for (int j = 0; j < outLen[v]; j++) {
+                int x = outTo[v][j];
+                if (contracted[x]) continue;
+                maxOut = Math.max(maxOut, outW[v][j]);
+                targetStamp[x] = targetGeneration;
+                targetCount++;
+            }
+            if (targetCount == 0) return;
+
+            for (int i = 0; i < inLen[v]; i++) {
+                int u = inTo[v][i];
+                if (contracted[u]) continue;
+                int viaV = inW[v][i];
+                witnessSearch(u, v, viaV + maxOut, targetStamp[u] == targetGeneration ? targetCount - 1 : targetCount,
+                        settleLimit);
+
+                for (int j = 0; j < outLen[v]; j++) {
+                    int x = outTo[v][j];
+                    if (contracted[x] || x == u) continue;
+                    int shortcut = viaV + outW[v][j];
+                    if (witnessStamp[x] != witnessGeneration || witnessDist[x] > shortcut) {
+                        addCandidate(u, x, shortcut);
+                    }
+                }
+            }
+        }
+
+        // Bounded Dijkstra from u over uncontracted vertices, never entering v.
+        // Stops past the distance limit, after settleLimit vertices, or once all targets are settled.
+        private void witnessSearch(int u, int v, int limit, int targets, int settleLimit) {
+            witnessGeneration++;
+            witnessHeap.clear();
+            witnessStamp[u] = witnessGeneration;
+            witnessDist[u] = 0;
+            witnessHeap.insert(u, 0);
+            int settled = 0;
+
+            while (!witnessHeap.isEmpty() && settled++ < settleLimit && targets > 0) {
+                if (witnessHeap.peekKey() > limit) break;
+                int a = witnessHeap.poll();
+                if (targetStamp[a] == targetGeneration && a != u) targets--;
+                int d = witnessDist[a];
+                for (int i = 0; i < outLen[a]; i++) {
+                    int b = outTo[a][i];
+                    if (b == v || contracted[b]) continue;
+                    int nd = d + outW[a][i];
+                    if (witnessStamp[b] != witnessGeneration) {
+                        witnessStamp[b] = witnessGeneration;
+                        witnessDist[b] = nd;
+                        witnessHeap.insert(b, nd);
+                    } else if (nd < witnessDist[b]) {
+                        witnessDist[b] = nd;
+                        if (witnessHeap.contains(b)) witnessHeap.decreaseKey(b, nd);
+                    }
+                }
+            }
+        }
+
+        private void addCandidate(int from, int to, int w) {
+            if (candCount == candFrom.length) {
+                candFrom = Arrays.copyOf(candFrom, candCount * 2);
+                candTo = Arrays.copyOf(candTo, candCount * 2);
+                candW = Arrays.copyOf(candW, candCount * 2);
+            }
+            candFrom[candCount] = from;
+            candTo[candCount] = to;
+            candW[candCount] = w;
+            candCount++;
+        }
+
+        // Adds u -> x, or lowers the weight of an existing u -> x edge
+        private void addOrImprove(int u, int x, int w, int middle) {
+            for (int i = 0; i < outLen[u]; i++) {
+                if (outTo[u][i] == x) {
+                    if (w < outW[u][i]) {
+                        outW[u][i] = w;
+                        outMid[u][i] = middle;
+                        for (int j = 0; j < inLen[x]; j++) {
+                            if (inTo[x][j] == u) {
+                                inW[x][j] = w;
+                                inMid[x][j] = middle;
+                                break;
+                            }
+                        }
+                    }
+                    return;
+                }
+            }
+            if (outLen[u] == outTo[u].length) {
+                int cap = outLen[u] * 2;
+                outTo[u] = Arrays.copyOf(outTo[u], cap);
+                outW[u] = Arrays.copyOf(outW[u], cap);
+                outMid[u] = Arrays.copyOf(outMid[u], cap);
+            }
+            outTo[u][outLen[u]] = x;
+            outW[u][outLen[u]] = w;
+            outMid[u][outLen[u]++] = middle;
+
+            if (inLen[x] == inTo[x].length) {
+                int cap = inLen[x] * 2;
+                inTo[x] = Arrays.copyOf(inTo[x], cap);
+                inW[x] = Arrays.copyOf(inW[x], cap);
+                inMid[x] = Arrays.copyOf(inMid[x], cap);
+            }
+            inTo[x][inLen[x]] = u;
+            inW[x][inLen[x]] = w;
+            inMid[x][inLen[x]++] = middle;
+        }
+
+        // Splits every edge into the upward CSR (at its lower end) or reversed downward CSR (at its lower end)
+        private ContractionHierarchy toHierarchy() {
+            int[] upOffsets = new int[n + 1];
+            int[] downOffsets = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < outLen[u]; i++) {
+                    int x = outTo[u][i];
+                    if (rank[u] < rank[x]) upOffsets[u + 1]++;
+                    else downOffsets[x + 1]++;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                upOffsets[v + 1] += upOffsets[v];
+                downOffsets[v + 1] += downOffsets[v];
+            }
+
+            int[] upTargets = new int[upOffsets[n]], upWeights = new int[upOffsets[n]], upMiddle = new int[upOffsets[n]];
+            int[] downTargets = new int[downOffsets[n]], downWeights = new int[downOffsets[n]], downMiddle = new int[downOffsets[n]];
+            int[] upNext = Arrays.copyOf(upOffsets, n);
+            int[] downNext = Arrays.copyOf(downOffsets, n);
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < outLen[u]; i++) {
+                    int x = outTo[u][i];
+                    if (rank[u] < rank[x]) {
+                        int slot = upNext[u]++;
+                        upTargets[slot] = x;
+                        upWeights[slot] = outW[u][i];
+                        upMiddle[slot] = outMid[u][i];
+                    } else {
+                        int slot = downNext[x]++;
+                        downTargets[slot] = u;
+                        downWeights[slot] = outW[u][i];
+                        downMiddle[slot] = outMid[u][i];
+                    }
+                }
+            }
+            return new ContractionHierarchy(n, rank, upOffsets, upTargets, upWeights, upMiddle,
+                    downOffsets, downTargets, downWeights, downMiddle);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Binary file format: magic, n, rank[n], then the up and down CSR arrays
+    // ---------------------------------------------------------------------
+
+    public void save(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(n);
+            writeArray(out, rank);
+            writeArray(out, upOffsets);
+            out.writeInt(upTargets.length);
+            writeArray(out, upTargets);
+            writeArray(out, upWeights);
+            writeArray(out, upMiddle);
+            writeArray(out, downOffsets);
+            out.writeInt(downTargets.length);
+            writeArray(out, downTargets);
+            writeArray(out, downWeights);
+            writeArray(out, downMiddle);
+        }
+    }
+
+    public static ContractionHierarchy load(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path), 1 << 16))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException(path + " is not a contraction hierarchy file");
+            int n = in.readInt();
+            int[] rank = readArray(in, n);
+            int[] upOffsets = readArray(in, n + 1);
+            int up = in.readInt();
+            int[] upTargets = readArray(in, up), upWeights = readArray(in, up), upMiddle = readArray(in, up);
+            int[] downOffsets = readArray(in, n + 1);
+            int down = in.readInt();
+            int[] downTargets = readArray(in, down), downWeights = readArray(in, down), downMiddle = readArray(in, down);
+            return new ContractionHierarchy(n, rank, upOffsets, upTargets, upWeights, upMiddle,
+                    downOffsets, downTargets, downWeights, downMiddle);
+        }
+    }
+
+    private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) out.writeInt(value);
+    }
+
+    private static int[] readArray(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) values[i] = in.readInt();
+        return values;
+    }
+
+    // ---------------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------------
+
+    /**
+     * Reusable query engine (one per thread) over a shared, read-only hierarchy.
+     * Scratch arrays are reset by generation stamping, as in DijkstraQuery.
+     */
+    public static final class Query {
+        private final ContractionHierarchy ch;
+        private final int[] fDist, fParent, fSlot, fReached;
+        private final int[] bDist, bParent, bSlot, bReached;
+        private final IndexedDaryHeap fHeap, bHeap;
+        private int generation;
+        private int best, meeting, settledCount;
+        private int[] pathBuffer = new int[64];
+        private int pathLength;
+
+        public Query(ContractionHierarchy ch) {
+            this.ch = ch;
+            int n = ch.n;
+            fDist = new int[n];
+            fParent = new int[n];
+            fSlot = new int[n];
+            fReached = new int[n];
+            bDist = new int[n];
+            bParent = new int[n];
+            bSlot = new int[n];
+            bReached = new int[n];
+            fHeap = new IndexedDaryHeap(n);
+            bHeap = new IndexedDaryHeap(n);
+        }
+
+        // Shortest distance from source to target, or UNREACHABLE
+        public int distance(int source, int target) {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(fReached, 0);
+                Arrays.fill(bReached, 0);
+                generation = 1;
+            }
+            fHeap.clear();
+            bHeap.clear();
+            settledCount = 0;
+            best = UNREACHABLE;
+            meeting = -1;
+
+            start(source, fDist, fParent, fReached, fHeap);
+            start(target, bDist, bParent, bReached, bHeap);
+            if (source == target) {
+                best = 0;
+                meeting = source;
+            }
+
+            boolean forwardTurn = true;
+            while (true) {
+                boolean forwardLive = !fHeap.isEmpty() && fHeap.peekKey() < best;
+                boolean backwardLive = !bHeap.isEmpty() && bHeap.peekKey() < best;
+                if (!forwardLive && !backwardLive) break;
+                if (forwardLive && (forwardTurn || !backwardLive)) {
+                    step(fHeap, fDist, fParent, fSlot, fReached, bDist, bReached,
+                            ch.upOffsets, ch.upTargets, ch.upWeights);
+                } else {
+                    step(bHeap, bDist, bParent, bSlot, bReached, fDist, fReached,
+                            ch.downOffsets, ch.downTargets, ch.downWeights);
+                }
+                forwardTurn = !forwardTurn;
+            }
+            return best;
+        }
+
+        // Vertices settled by both directions in the last query
+        public int settledCount() {
+            return settledCount;
+        }
+
+        // Unpacked path of the last query in original-graph vertices (source first)
+        public int[] path() {
+            if (meeting < 0) return new int[0];
+            pathLength = 0;
+            // Forward half: collect upward edges from the meeting vertex back to the source
+            int hops = 0;
+            for (int x = meeting; fParent[x] != -1; x = fParent[x]) hops++;
+            int[] chain = new int[hops];
+            int i = hops;
+            for (int x = meeting; fParent[x] != -1; x = fParent[x]) chain[--i] = fSlot[x];
+
+            int first = meeting;
+            for (int x = meeting; fParent[x] != -1; x = fParent[x]) first = fParent[x];
+            append(first);
+            int u = first;
+            for (int slot : chain) {
+                int x = ch.upTargets[slot];
+                unpack(u, x, ch.upMiddle[slot]);
+                u = x;
+            }
+            // Backward half: each step is a downward edge u -> bParent[u]
+            for (int x = meeting; bParent[x] != -1; x = bParent[x]) {
+                unpack(x, bParent[x], ch.downMiddle[bSlot[x]]);
+            }
+            return Arrays.copyOf(pathBuffer, pathLength);
+        }
+
+        private void start(int root, int[] dist, int[] parent, int[] reached, IndexedDaryHeap heap) {
+            reached[root] = generation;
+            dist[root] = 0;
+            parent[root] = -1;
+            heap.insert(root, 0);
+        }
+
+        private void step(IndexedDaryHeap heap, int[] dist, int[] parent, int[] slotOf, int[] reached,
+                          int[] otherDist, int[] otherReached, int[] offsets, int[] targets, int[] weights) {
+            int u = heap.poll();
+            settledCount++;
+            int d = dist[u];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                int nd = d + weights[e];
+                if (reached[v] != generation) {
+                    reached[v] = generation;
+                    heap.insert(v, nd);
+                } else if (nd < dist[v]) {
+                    heap.decreaseKey(v, nd);
+                } else {
+                    continue;
+                }
+                dist[v] = nd;
+                parent[v] = u;
+                slotOf[v] = e;
+                if (otherReached[v] == generation && (long) nd + otherDist[v] < best) {
+                    best = nd + otherDist[v];
+                    meeting = v;
+                }
+            }
+        }
+
+        // Appends the original vertices of edge u -> x after u (u is already in the path)
+        private void unpack(int u, int x, int middle) {
+            if (middle < 0) {
+                append(x);
+                return;
+            }
+            // u -> middle is a downward edge stored at middle; middle -> x is an upward edge of middle
+            int down = findSlot(ch.downOffsets, ch.downTargets, ch.downWeights, middle, u);
+            unpack(u, middle, ch.downMiddle[down]);
+            int up = findSlot(ch.upOffsets, ch.upTargets, ch.upWeights, middle, x);
+            unpack(middle, x, ch.upMiddle[up]);
+        }
+
+        private static int findSlot(int[] offsets, int[] targets, int[] weights, int at, int target) {
+            int best = -1;
+            for (int e = offsets[at]; e < offsets[at + 1]; e++) {
+                if (targets[e] == target && (best < 0 || weights[e] < weights[best])) best = e;
+            }
+            return best;
+        }
+
+        private void append(int v) {
+            if (pathLength == pathBuffer.length) pathBuffer = Arrays.copyOf(pathBuffer, pathLength * 2);
+            pathBuffer[pathLength++] = v;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("build")) {
+            CsrGraph graph;
+            try (FileInputStream in = new FileInputStream(args[1])) {
+                graph = CsrGraph.readEdgeList(in);
+            }
+            long start = System.nanoTime();
+            ContractionHierarchy ch = build(graph);
+            System.out.printf("Contracted %d vertices in %.1f s: %d edges -> %d edges with shortcuts%n",
+                    ch.vertexCount(), (System.nanoTime() - start) / 1e9, graph.edgeCount(), ch.edgeCount());
+            ch.save(args[2]);
+            System.out.println("Wrote " + args[2]);
+        } else if (args.length == 4 && args[0].equals("query")) {
+            ContractionHierarchy ch = load(args[1]);
+            Query query = new Query(ch);
+            int d = query.distance(Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            if (d == UNREACHABLE) {
+                System.out.println("Unreachable");
+            } else {
+                System.out.println("Distance " + d + ", path " + Arrays.toString(query.path()));
+            }
+        } else {
+            CsrGraph graph = new CsrGraph.Builder(6)
+                    .addEdge(0, 1, 4).addEdge(0, 2, 1).addEdge(2, 1, 2)
+                    .addEdge(1, 3, 1).addEdge(2, 3, 5).addEdge(3, 4, 3)
+                    .addEdge(5, 4, 1)
+                    .build();
+            ContractionHierarchy ch = build(graph);
+            Query query = new Query(ch);
+            System.out.println("0 -> 4: distance " + query.distance(0, 4) + ", path " + Arrays.toString(query.path()));
+            System.out.println("5 -> 0: " + (query.distance(5, 0) == UNREACHABLE ? "unreachable" : "reachable"));
+        }
+    }
+}
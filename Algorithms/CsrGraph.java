@@ -0,0 +1,258 @@
+/**
+ * Program Title: Compressed Sparse Row (CSR) Graph
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A compact, read-only representation of a weighted directed graph
+ * stored in three primitive arrays. The out-edges of vertex u occupy the slots
+ * offsets[u] .. offsets[u + 1] - 1 of targets[] and weights[], so a graph with V
+ * vertices and E edges costs (V + 1 + 2E) ints and no per-edge objects.
+ * The Builder ingests an edge list in any order and lays it out with a stable
+ * counting sort on the source vertex. Dijkstra, PrimsAlgorithm, BellmanFord and
+ * TarjanSCC all accept a CsrGraph in addition to their original inputs.
+ *
+ * Compile together with the program that uses it, e.g. `javac Dijkstra.java`
+ * from this folder picks CsrGraph.java up automatically.
+ *
+ * Time Complexity: O(V + E) to build, O(1) per edge visited
+ * Space Complexity: O(V + E)
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StreamTokenizer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public final class CsrGraph {
+
+    private final int n;
+    final int[] offsets; // length n + 1
+    final int[] targets; // length E
+    final int[] weights; // length E
+
+    private CsrGraph(int n, int[] offsets, int[] targets, int[] weights) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    // First edge slot of u (inclusive)
+    public int begin(int u) {
+        return offsets[u];
+    }
+
+    // Last edge slot of u (exclusive)
+    public int end(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int slot) {
+        return targets[slot];
+    }
+
+    public int weight(int slot) {
+        return weights[slot];
+    }
+
+    // Graph with every edge u -> v turned into v -> u (same weights)
+    public CsrGraph reverse() {
+        int m = targets.length;
+        int[] revOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            revOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            revOffsets[v + 1] += revOffsets[v];
+        }
+
+        int[] revTargets = new int[m];
+        int[] revWeights = new int[m];
+        int[] next = Arrays.copyOf(revOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int slot = next[targets[e]]++;
+                revTargets[slot] = u;
+                revWeights[slot] = weights[e];
+            }
+        }
+        return new CsrGraph(n, revOffsets, revTargets, revWeights);
+    }
+
+    /**
+     * Builds a graph directly from parallel edge arrays (src[i] -> dst[i] with weight w[i]).
+     */
+    public static CsrGraph fromEdgeList(int n, int[] src, int[] dst, int[] w) {
+        if (src.length != dst.length || src.length != w.length) {
+            throw new IllegalArgumentException("Edge arrays must have equal length");
+        }
+        return layout(n, src, dst, w, src.length);
+    }
+
+    /**
+     * Reads the edge-list format used by Dijkstra.main: "n m" followed by m lines "u v w".
+     * A StreamTokenizer is used instead of Scanner so that large files load quickly.
+     */
+    public static CsrGraph readEdgeList(InputStream in) throws IOException {
+        StreamTokenizer tokens = new StreamTokenizer(new BufferedReader(new InputStreamReader(in)));
+        int n = nextInt(tokens);
+        int m = nextInt(tokens);
+        Builder builder = new Builder(n, m);
+        for (int i = 0; i < m; i++) {
+            builder.addEdge(nextInt(tokens), nextInt(tokens), nextInt(tokens));
+        }
+        return builder.build();
+    }
+
+    private static int nextInt(StreamTokenizer tokens) throws IOException {
+        if (tokens.nextToken() != StreamTokenizer.TT_NUMBER) {
+            throw new IOException("Expected a number at line " + tokens.lineno());
+        }
+        return (int) tokens.nval;
+    }
+
+    /**
+     * Generates a random graph with m edges (2m arcs if undirected) and weights in [1, maxWeight].
+     * The first n - 1 edges link each vertex i > 0 from a random earlier vertex, so when m >= n - 1
+     * every vertex is reachable from 0; with fewer edges only vertices 0..m are connected this way.
+     */
+    public static CsrGraph randomGraph(int n, int m, int maxWeight, boolean undirected, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Builder builder = new Builder(n, undirected ? 2 * m : m);
+        for (int i = 0; i < m; i++) {
+            int v = i < n - 1 ? i + 1 : random.nextInt(n);
+            int u = i < n - 1 ? random.nextInt(v) : random.nextInt(n);
+            int w = 1 + random.nextInt(maxWeight);
+            if (undirected) {
+                builder.addUndirectedEdge(u, v, w);
+            } else {
+                builder.addEdge(u, v, w);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Generates a road-like rows x cols grid: each cell links to its right and lower
+     * neighbour in both directions with weights in [1, maxWeight]. Vertex id = row * cols + col.
+     */
+    public static CsrGraph gridGraph(int rows, int cols, int maxWeight, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Builder builder = new Builder(rows * cols, 4 * rows * cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int u = r * cols + c;
+                if (c + 1 < cols) builder.addUndirectedEdge(u, u + 1, 1 + random.nextInt(maxWeight));
+                if (r + 1 < rows) builder.addUndirectedEdge(u, u + cols, 1 + random.nextInt(maxWeight));
+            }
+        }
+        return builder.build();
+    }
+
+    // Stable counting sort of the first m edges by source vertex
+    private static CsrGraph layout(int n, int[] src, int[] dst, int[] w, int m) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            int u = src[i];
+            if (u < 0 || u >= n || dst[i] < 0 || dst[i] >= n) {
+                throw new IllegalArgumentException("Edge " + u + " -> " + dst[i] + " out of range");
+            }
+            offsets[u + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            int slot = next[src[i]]++;
+            targets[slot] = dst[i];
+            weights[slot] = w[i];
+        }
+        return new CsrGraph(n, offsets, targets, weights);
+    }
+
+    /**
+     * Accumulates edges in growable primitive arrays and produces an immutable CsrGraph.
+     */
+    public static final class Builder {
+        private final int n;
+        private int m;
+        private int[] src;
+        private int[] dst;
+        private int[] w;
+
+        public Builder(int n) {
+            this(n, 16);
+        }
+
+        public Builder(int n, int expectedEdges) {
+            if (n < 0) throw new IllegalArgumentException("Negative vertex count: " + n);
+            this.n = n;
+            int capacity = Math.max(expectedEdges, 1);
+            src = new int[capacity];
+            dst = new int[capacity];
+            w = new int[capacity];
+        }
+
+        // Add a directed edge u -> v
+        public Builder addEdge(int u, int v, int weight) {
+            if (m == src.length) {
+                int capacity = src.length * 2;
+                src = Arrays.copyOf(src, capacity);
+                dst = Arrays.copyOf(dst, capacity);
+                w = Arrays.copyOf(w, capacity);
+            }
+            src[m] = u;
+            dst[m] = v;
+            w[m] = weight;
+            m++;
+            return this;
+        }
+
+        // Add both u -> v and v -> u
+        public Builder addUndirectedEdge(int u, int v, int weight) {
+            addEdge(u, v, weight);
+            return addEdge(v, u, weight);
+        }
+
+        public CsrGraph build() {
+            return layout(n, src, dst, w, m);
+        }
+    }
+
+    public static void main(String[] args) {
+        CsrGraph g = new CsrGraph.Builder(4)
+                .addEdge(2, 3, 7)
+                .addEdge(0, 1, 4)
+                .addEdge(0, 2, 1)
+                .addEdge(1, 3, 2)
+                .build();
+
+        System.out.println("Vertices: " + g.vertexCount() + ", edges: " + g.edgeCount());
+        for (int u = 0; u < g.vertexCount(); u++) {
+            System.out.print(u + ":");
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                System.out.print(" -> " + g.target(e) + " (w=" + g.weight(e) + ")");
+            }
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/**
+ * Program Title: D* Lite Incremental Replanning on a Grid with Changing Obstacles
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: D* Lite (Koenig & Likhachev) keeps one search alive while the map changes
+ * and the agent moves. It searches backwards from the goal. Every cell has a g-value (the
+ * distance currently believed) and an rhs-value (a one-step lookahead computed from its
+ * neighbours' g-values). A cell whose two values disagree is "inconsistent" and sits in a
+ * priority queue ordered by the two-part key
+ *     [min(g, rhs) + h(start, cell) + km, min(g, rhs)].
+ * When cells are blocked or unblocked, only the cells whose edges changed get their rhs
+ * recomputed. The next plan() then processes inconsistent cells until the start is
+ * consistent again, which repairs just the region the change affects. When the agent
+ * moves, the key modifier km grows by h(old start, new start) instead of re-keying the
+ * whole queue.
+ *
+ * Moves and costs match GridAStar: 4-directional (10 per step) or 8-directional
+ * (diagonal 14, no corner cutting). State is kept in flat arrays over GridMap's padded
+ * layout, and the queue is an indexed binary heap on the two-int key.
+ *
+ * Time Complexity: first plan O(C log C) for C cells touched; each replan is proportional
+ * to the cells whose distance to the goal actually changed, times log of the queue size
+ * Space Complexity: O(rows * cols)
+ */
+
+import java.util.Arrays;
+
+public final class DStarLite {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int INF = Integer.MAX_VALUE / 2;
+    private static final int[] DR = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] DC = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    private final int rows, cols, stride;
+    private final boolean diagonal;
+    private final int moves;
+    private final byte[] open; // private padded copy of the map
+    private final int[] step;  // padded-index offset of each move
+    private final int[] g, rhs;
+    private final KeyHeap queue;
+    private final int goal;
+    private int start, lastStart, km;
+    private int expandedCount;
+
+    // Cells changed since the last plan(); their edges need repair
+    private int[] changed = new int[16];
+    private int changedCount;
+
+    public DStarLite(GridMap map, int startCell, int goalCell) {
+        this(map, startCell, goalCell, false);
+    }
+
+    public DStarLite(GridMap map, int startCell, int goalCell, boolean diagonal) {
+        rows = map.rows();
+        cols = map.cols();
+        stride = map.stride;
+        open = map.open.clone();
+        this.diagonal = diagonal;
+        moves = diagonal ? 8 : 4;
+        step = new int[8];
+        for (int k = 0; k < 8; k++) step[k] = DR[k] * stride + DC[k];
+
+        g = new int[open.length];
+        rhs = new int[open.length];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        queue = new KeyHeap(open.length);
+
+        start = lastStart = padded(startCell);
+        goal = padded(goalCell);
+        rhs[goal] = 0;
+        queue.insert(goal, heuristic(start, goal), 0);
+    }
+
+    public boolean isPassable(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && open[(row + 1) * stride + col + 1] != 0;
+    }
+
+    // Opens or blocks a cell; the search is repaired by the next plan()
+    public void setPassable(int row, int col, boolean passable) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") outside " + rows + " x " + cols);
+        }
+        int p = (row + 1) * stride + col + 1;
+        byte value = (byte) (passable ? 1 : 0);
+        if (open[p] == value) return;
+        open[p] = value;
+        if (changedCount == changed.length) changed = Arrays.copyOf(changed, changedCount * 2);
+        changed[changedCount++] = p;
+    }
+
+    // Flips a cell between blocked and passable and returns its new state
+    public boolean toggle(int row, int col) {
+        boolean passable = !isPassable(row, col);
+        setPassable(row, col, passable);
+        return passable;
+    }
+
+    // Moves the agent; the goal stays fixed, so the existing search remains valid
+    public void moveStart(int cell) {
+        start = padded(cell);
+    }
+
+    /**
+     * Repairs the search after obstacle changes and start moves.
+     * @return the cost of the shortest path from the current start to the goal, or UNREACHABLE
+     */
+    public int plan() {
+        expandedCount = 0;
+        if (start != lastStart) {
+            km += heuristic(lastStart, start);
+            lastStart = start;
+        }
+        for (int i = 0; i < changedCount; i++) {
+            // Every edge that touches the cell or cuts its corner ends in the cell or a neighbour
+            int p = changed[i];
+            updateVertex(p);
+            for (int k = 0; k < moves; k++) updateVertex(p + step[k]);
+        }
+        changedCount = 0;
+
+        computeShortestPath();
+        return open[start] == 0 || g[start] >= INF ? UNREACHABLE : g[start];
+    }
+
+    // Cells taken off the queue by the last plan()
+    public int expandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Path from the current start to the goal as row-major cell ids, following the
+     * cheapest neighbour at each step. Valid after plan(); empty if the goal is unreachable.
+     */
+    public int[] path() {
+        if (open[start] == 0 || g[start] >= INF) return new int[0];
+        int[] cells = new int[16];
+        int length = 0;
+        int s = start;
+        cells[length++] = s;
+        while (s != goal) {
+            int best = -1, bestCost = INF;
+            for (int k = 0; k < moves; k++) {
+                int v = s + step[k];
+                int c = add(cost(s, k), g[v]);
+                if (c < bestCost) {
+                    bestCost = c;
+                    best = v;
+                }
+            }
+            if (best < 0 || length > rows * cols) return new int[0]; // only if plan() was not called
+            if (length == cells.length) cells = Arrays.copyOf(cells, length * 2);
+            cells[length++] = s = best;
+        }
+        int[] path = new int[length];
+        for (int i = 0; i < length; i++) {
+            path[i] = (cells[i] / stride - 1) * cols + cells[i] % stride - 1;
+        }
+        return path;
+    }
+
+    private void computeShortestPath() {
+        while (!queue.isEmpty()) {
+            int startK1 = key1(start), startK2 = key2(start);
+            int topK1 = queue.topKey1(), topK2 = queue.topKey2();
+            if (!less(topK1, topK2, startK1, startK2) && rhs[start] == g[start]) break;
+
+            int u = queue.peek();
+            expandedCount++;
+            int newK1 = key1(u), newK2 = key2(u);
+            if (less(topK1, topK2, newK1, newK2)) {
+                // Stale key: km grew since u was queued
+                queue.update(u, newK1, newK2);
+            } else if (g[u] > rhs[u]) {
+                // Overconsistent: the distance improved, settle it and tell the neighbours
+                g[u] = rhs[u];
+                queue.remove(u);
+                for (int k = 0; k < moves; k++) updateVertex(u + step[k]);
+            } else {
+                // Underconsistent: the old distance no longer holds, raise it and re-evaluate
+                g[u] = INF;
+                updateVertex(u);
+                for (int k = 0; k < moves; k++) updateVertex(u + step[k]);
+            }
+        }
+    }
+
+    private void updateVertex(int u) {
+        if (u != goal) {
+            int best = INF;
+            if (open[u] != 0) {
+                for (int k = 0; k < moves; k++) {
+                    best = Math.min(best, add(cost(u, k), g[u + step[k]]));
+                }
+            }
+            rhs[u] = best;
+        }
+        if (g[u] != rhs[u]) {
+            if (queue.contains(u)) {
+                queue.update(u, key1(u), key2(u));
+            } else {
+                queue.insert(u, key1(u), key2(u));
+            }
+        } else if (queue.contains(u)) {
+            queue.remove(u);
+        }
+    }
+
+    // Cost of move k out of u (edges are symmetric), INF if it is blocked or cuts a corner
+    private int cost(int u, int k) {
+        int v = u + step[k];
+        if (open[u] == 0 || open[v] == 0) return INF;
+        if (k < 4) return GridAStar.STRAIGHT_COST;
+        if (open[u + DR[k] * stride] == 0 || open[u + DC[k]] == 0) return INF;
+        return GridAStar.DIAGONAL_COST;
+    }
+
+    private int key1(int u) {
+        int m = Math.min(g[u], rhs[u]);
+        return m >= INF ? INF : m + heuristic(start, u) + km;
+    }
+
+    private int key2(int u) {
+        return Math.min(g[u], rhs[u]);
+    }
+
+    private static boolean less(int a1, int a2, int b1, int b2) {
+        return a1 < b1 || (a1 == b1 && a2 < b2);
+    }
+
+    private static int add(int a, int b) {
+        return a >= INF || b >= INF ? INF : a + b;
+    }
+
+    private int heuristic(int a, int b) {
+        int ra = a / stride, rb = b / stride;
+        int dr = Math.abs(ra - rb);
+        int dc = Math.abs((a - ra * stride) - (b - rb * stride));
+        return diagonal
+                ? GridAStar.STRAIGHT_COST * Math.max(dr, dc) + (GridAStar.DIAGONAL_COST - GridAStar.STRAIGHT_COST) * Math.min(dr, dc)
+                : GridAStar.STRAIGHT_COST * (dr + dc);
+    }
+
+    private int padded(int cell) {
+        if (cell < 0 || cell >= rows * cols) throw new IndexOutOfBoundsException("Cell " + cell + " out of range");
+        return (cell / cols + 1) * stride + cell % cols + 1;
+    }
+
+    /**
+     * Indexed binary min-heap over cells with a lexicographic (k1, k2) key. pos[] covers
+     * every cell; the heap arrays themselves grow with the queue.
+     */
+    private static final class KeyHeap {
+        private int[] items = new int[64], k1 = new int[64], k2 = new int[64];
+        private final int[] pos;
+        private int size;
+
+        KeyHeap(int capacity) {
+            pos = new int[capacity];
+            Arrays.fill(pos, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean contains(int item) {
+            return pos[item] >= 0;
+        }
+
+        int peek() {
+            return items[0];
+        }
+
+        int topKey1() {
+            return k1[0];
+        }
+
+        int topKey2() {
+            return k2[0];
+        }
+
+        void insert(int item, int a, int b) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                k1 = Arrays.copyOf(k1, size * 2);
+                k2 = Arrays.copyOf(k2, size * 2);
+            }
+            place(size, item, a, b);
+            siftUp(size++);
+        }
+
+        void update(int item, int a, int b) {
+            int slot = pos[item];
+            boolean smaller = less(a, b, k1[slot], k2[slot]);
+            k1[slot] = a;
+            k2[slot] = b;
+            if (smaller) {
+                siftUp(slot);
+            } else {
+                siftDown(slot);
+            }
+        }
+
+        void remove(int item) {
+            int slot = pos[item];
+            pos[item] = -1;
+            int last = --size;
+            if (slot == last) return;
+            int moved = items[last];
+            place(slot, moved, k1[last], k2[last]);
+            siftUp(slot);
+            if (pos[moved] == slot) siftDown(slot);
+        }
+
+        private void siftUp(int slot) {
+            int item = items[slot], a = k1[slot], b = k2[slot];
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (!less(a, b, k1[parent], k2[parent])) break;
+                place(slot, items[parent], k1[parent], k2[parent]);
+                slot = parent;
+            }
+            place(slot, item, a, b);
+        }
+
+        private void siftDown(int slot) {
+            int item = items[slot], a = k1[slot], b = k2[slot];
+            while (true) {
+                int child = 2 * slot + 1;
+                if (child >= size) break;
+                if (child + 1 < size && less(k1[child + 1], k2[child + 1], k1[child], k2[child])) child++;
+                if (!less(k1[child], k2[child], a, b)) break;
+                place(slot, items[child], k1[child], k2[child]);
+                slot = child;
+            }
+            place(slot, item, a, b);
+        }
+
+        private void place(int slot, int item, int a, int b) {
+            items[slot] = item;
+            k1[slot] = a;
+            k2[slot] = b;
+            pos[item] = slot;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Same map as AStarSearch.main
+        int[][] blocks = {{1, 2}, {1, 3}, {1, 4}, {2, 4}, {3, 4}, {4, 4}, {5, 4}, {5, 3}, {5, 2}, {5, 1}, {7, 6}, {7, 7}};
+        GridMap map = GridMap.fromBlocks(10, 10, blocks);
+        DStarLite planner = new DStarLite(map, map.cell(0, 0), map.cell(7, 8));
+
+        System.out.println("Initial plan: cost " + planner.plan() + ", expanded " + planner.expandedCount());
+        int[] path = planner.path();
+        System.out.print(map.render(path));
+
+        // Tick: the agent takes three steps, then two cells on its route are blocked
+        planner.moveStart(path[3]);
+        planner.setPassable(6, 3, false);
+        planner.setPassable(7, 3, false);
+        map = map.withCell(6, 3, false).withCell(7, 3, false);
+        System.out.println("After moving to (3, 0) and blocking (6, 3), (7, 3): cost " + planner.plan()
+                + ", expanded " + planner.expandedCount());
+        System.out.print(map.render(planner.path()));
+
+        // Tick: one of them opens again
+        planner.toggle(7, 3);
+        map = map.withCell(7, 3, true);
+        System.out.println("After reopening (7, 3): cost " + planner.plan() + ", expanded " + planner.expandedCount());
+        System.out.print(map.render(planner.path()));
+    }
+}
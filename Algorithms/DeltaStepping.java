@@ -0,0 +1,242 @@
+/**
+ * Program Title: Parallel Delta-Stepping Single-Source Shortest Paths
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A parallel alternative to Dijkstra for non-negative weights
+ * (Meyer & Sanders). Vertices are kept in buckets of width delta by tentative
+ * distance. The smallest non-empty bucket is processed in rounds: all of its vertices
+ * relax their light edges (weight <= delta) at the same time, which can only refill
+ * the same or later buckets; once the bucket stays empty, every vertex that was
+ * settled in it relaxes its heavy edges once. Each round is an embarrassingly parallel
+ * loop over the frontier, run on a ForkJoinPool; distances live in an
+ * AtomicIntegerArray and are lowered with a compare-and-set "atomic min".
+ *
+ * delta trades work for parallelism: delta = 1 behaves like Dijkstra (little parallel
+ * work per bucket), a very large delta behaves like Bellman-Ford (lots of re-relaxation).
+ * A value around the average edge weight is a good start.
+ * Results are identical to Dijkstra.dijkstra on the same CsrGraph.
+ *
+ * Time Complexity: O(V + E + L / delta * R) total work, where L is the largest
+ * distance and R the re-relaxations; parallel time O(L / delta * log n) phases
+ * Space Complexity: O(V + E) (edges are copied with light edges first per vertex)
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class DeltaStepping {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int LEAF_VERTICES = 256;
+
+    private final int n;
+    private final int delta;
+    private final ForkJoinPool pool;
+    // Edges re-laid out so that, per vertex, light edges come first: [offsets[u], lightEnd[u]) are light
+    private final int[] offsets, lightEnd, targets, weights;
+    private final int bucketSlots;
+
+    // Per-run state
+    private AtomicIntegerArray dist;
+    private AtomicIntegerArray queuedInPhase;
+    private int[] improved;
+    private final AtomicInteger improvedCount = new AtomicInteger();
+    private int phase;
+
+    public DeltaStepping(CsrGraph graph, int delta, ForkJoinPool pool) {
+        if (delta < 1) throw new IllegalArgumentException("delta must be positive");
+        this.n = graph.vertexCount();
+        this.delta = delta;
+        this.pool = pool;
+
+        int m = graph.edgeCount();
+        offsets = Arrays.copyOf(graph.offsets, n + 1);
+        lightEnd = new int[n];
+        targets = new int[m];
+        weights = new int[m];
+        int maxWeight = 0;
+        for (int u = 0; u < n; u++) {
+            int light = offsets[u];
+            int heavy = offsets[u + 1] - 1;
+            for (int e = graph.begin(u); e < graph.end(u); e++) {
+                int w = graph.weight(e);
+                if (w < 0) throw new IllegalArgumentException("Negative edge weight " + w);
+                maxWeight = Math.max(maxWeight, w);
+                int slot = w <= delta ? light++ : heavy--;
+                targets[slot] = graph.target(e);
+                weights[slot] = w;
+            }
+            lightEnd[u] = light;
+        }
+        // Live buckets always lie within [current, current + maxWeight / delta], so a ring this size never collides
+        bucketSlots = maxWeight / delta + 2;
+    }
+
+    // Tentative distances from source, UNREACHABLE for vertices that cannot be reached
+    public int[] run(int source) {
+        dist = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) dist.set(v, UNREACHABLE);
+        queuedInPhase = new AtomicIntegerArray(n);
+        improved = new int[n];
+        int[] settledIn = new int[n];     // bucket in which the vertex was last added to the settled set
+        int[] frontierRound = new int[n]; // round in which the vertex was last added to a frontier
+        Arrays.fill(settledIn, -1);
+
+        IntBuffer[] buckets = new IntBuffer[bucketSlots];
+        for (int i = 0; i < bucketSlots; i++) buckets[i] = new IntBuffer();
+        IntBuffer frontier = new IntBuffer();
+        IntBuffer settled = new IntBuffer();
+
+        dist.set(source, 0);
+        buckets[0].add(source);
+        int current = 0;
+        int round = 0;
+
+        while (true) {
+            // Find the next non-empty bucket in ring order
+            int step = 0;
+            while (step < bucketSlots && buckets[(current + step) % bucketSlots].size == 0) step++;
+            if (step == bucketSlots) break;
+            current += step;
+            IntBuffer bucket = buckets[current % bucketSlots];
+            settled.clear();
+
+            while (bucket.size > 0) {
+                // Take the bucket's live entries (stale ones moved to a lower bucket earlier) as the frontier
+                round++;
+                frontier.clear();
+                for (int i = 0; i < bucket.size; i++) {
+                    int v = bucket.data[i];
+                    if (dist.get(v) / delta == current && frontierRound[v] != round) {
+                        frontierRound[v] = round;
+                        frontier.add(v);
+                        if (settledIn[v] != current) {
+                            settledIn[v] = current;
+                            settled.add(v);
+                        }
+                    }
+                }
+                bucket.clear();
+                relaxInParallel(frontier, true);
+                distribute(buckets);
+            }
+
+            relaxInParallel(settled, false);
+            distribute(buckets);
+        }
+
+        int[] result = new int[n];
+        for (int v = 0; v < n; v++) result[v] = dist.get(v);
+        return result;
+    }
+
+    // Moves every vertex improved in the last phase into the bucket of its new distance
+    private void distribute(IntBuffer[] buckets) {
+        int count = improvedCount.get();
+        for (int i = 0; i < count; i++) {
+            int v = improved[i];
+            buckets[(dist.get(v) / delta) % bucketSlots].add(v);
+        }
+    }
+
+    private void relaxInParallel(IntBuffer vertices, boolean light) {
+        improvedCount.set(0);
+        if (vertices.size == 0) return;
+        phase++;
+        RelaxTask task = new RelaxTask(vertices.data, 0, vertices.size, light, phase);
+        if (vertices.size <= LEAF_VERTICES) {
+            task.compute(); // too small to be worth a hand-off to the pool
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    // Relaxes the light or heavy edges of vertices[from, to), splitting the range until it is small
+    private final class RelaxTask extends RecursiveAction {
+        private final int[] vertices;
+        private final int from, to;
+        private final boolean light;
+        private final int phaseId;
+
+        RelaxTask(int[] vertices, int from, int to, boolean light, int phaseId) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+            this.phaseId = phaseId;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_VERTICES) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RelaxTask(vertices, from, mid, light, phaseId),
+                        new RelaxTask(vertices, mid, to, light, phaseId));
+                return;
+            }
+
+            int[] local = new int[64];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int u = vertices[i];
+                int d = dist.get(u);
+                int begin = light ? offsets[u] : lightEnd[u];
+                int end = light ? lightEnd[u] : offsets[u + 1];
+                for (int e = begin; e < end; e++) {
+                    int v = targets[e];
+                    if (relax(v, d + weights[e]) && queuedInPhase.getAndSet(v, phaseId) != phaseId) {
+                        if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                        local[count++] = v;
+                    }
+                }
+            }
+            if (count > 0) {
+                int at = improvedCount.getAndAdd(count);
+                System.arraycopy(local, 0, improved, at, count);
+            }
+        }
+    }
+
+    // Atomic min: lower dist[v] to nd if that is an improvement
+    private boolean relax(int v, int nd) {
+        int current = dist.get(v);
+        while (nd < current) {
+            if (dist.compareAndSet(v, current, nd)) return true;
+            current = dist.get(v);
+        }
+        return false;
+    }
+
+    // Minimal growable int list for buckets and frontiers
+    private static final class IntBuffer {
+        int[] data = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        CsrGraph graph = new CsrGraph.Builder(6)
+                .addEdge(0, 1, 4).addEdge(0, 2, 1).addEdge(2, 1, 2)
+                .addEdge(1, 3, 1).addEdge(2, 3, 5).addEdge(3, 4, 3)
+                .addEdge(5, 4, 1)
+                .build();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        int[] dist = new DeltaStepping(graph, 2, pool).run(0);
+        pool.shutdown();
+
+        System.out.println("Delta-stepping: " + Arrays.toString(dist));
+        System.out.println("Dijkstra:       " + Arrays.toString(Dijkstra.dijkstra(graph, 0, null)));
+    }
+}
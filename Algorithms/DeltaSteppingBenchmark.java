@@ -0,0 +1,63 @@
+/**
+ * Program Title: Delta-Stepping Thread Scaling Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Generates a random directed CsrGraph, computes reference distances
+ * with the sequential Dijkstra, then runs DeltaStepping on ForkJoinPools of
+ * 1, 2, 4, 8, 16, ... threads (up to the number of available processors, or the
+ * count given on the command line). For each pool size it reports the best wall
+ * time, the throughput in million edges per second, the speed-up over one thread,
+ * and whether the distances match Dijkstra exactly.
+ *
+ * Usage: java DeltaSteppingBenchmark [vertices] [averageDegree] [delta] [maxThreads]
+ * Time Complexity: O(runs * (V + E)) work per configuration
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class DeltaSteppingBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int delta = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int maxThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        CsrGraph graph = CsrGraph.randomGraph(n, n * degree, 1000, false, 42);
+        System.out.println("Vertices: " + n + ", edges: " + graph.edgeCount() + ", delta: " + delta);
+
+        long start = System.nanoTime();
+        int[] expected = Dijkstra.dijkstra(graph, 0, null);
+        System.out.printf("Sequential Dijkstra: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        double singleThread = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            DeltaStepping engine = new DeltaStepping(graph, delta, pool);
+
+            int[] dist = null;
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                dist = engine.run(0);
+            }
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long t = System.nanoTime();
+                dist = engine.run(0);
+                best = Math.min(best, System.nanoTime() - t);
+            }
+            pool.shutdown();
+
+            double ms = best / 1e6;
+            if (threads == 1) singleThread = ms;
+            System.out.printf("%3d threads: %9.1f ms  %8.1f Medges/s  speed-up %5.2fx  %s%n",
+                    threads, ms, graph.edgeCount() / (best / 1e3), singleThread / ms,
+                    Arrays.equals(dist, expected) ? "matches Dijkstra" : "MISMATCH");
+        }
+    }
+}
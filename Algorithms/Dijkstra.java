@@ -48,7 +48,85 @@ class Dijkstra {
             }
         }
 
-        // Print shortest distances and paths
+        printDistances(source, dist, parent);
+    }
+
+    /**
+     * Same algorithm over a CsrGraph using the indexed heap.
+     * Fills parent[] (if non-null) and returns dist[].
+     */
+    static int[] dijkstra(CsrGraph graph, int source, int[] parent) {
+        return dijkstra(graph, source, parent, QueueStrategy.INDEXED);
+    }
+
+    static int[] dijkstra(CsrGraph graph, int source, int[] parent, QueueStrategy strategy) {
+        int n = graph.vertexCount();
+        int[] dist = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        if (parent != null) Arrays.fill(parent, -1);
+
+        dist[source] = 0;
+
+        if (strategy == QueueStrategy.LAZY) {
+            lazyDijkstra(graph, source, dist, parent);
+        } else {
+            indexedDijkstra(graph, source, dist, parent);
+        }
+        return dist;
+    }
+
+    // Lazy deletion: entries are packed as (dist << 32 | vertex), stale ones are skipped
+    private static void lazyDijkstra(CsrGraph graph, int source, int[] dist, int[] parent) {
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        PriorityQueue<Long> pq = new PriorityQueue<>();
+        pq.offer((long) source);
+
+        while (!pq.isEmpty()) {
+            long entry = pq.poll();
+            int u = (int) entry;
+            int d = (int) (entry >>> 32);
+
+            if (d > dist[u]) continue;
+
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                int nd = d + weights[e];
+
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    if (parent != null) parent[v] = u;
+                    pq.offer(((long) nd << 32) | v);
+                }
+            }
+        }
+    }
+
+    // Decrease-key: every vertex occupies at most one heap slot
+    private static void indexedDijkstra(CsrGraph graph, int source, int[] dist, int[] parent) {
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        IndexedDaryHeap heap = new IndexedDaryHeap(graph.vertexCount());
+        heap.insert(source, 0);
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            int d = dist[u];
+
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                int nd = d + weights[e];
+
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    if (parent != null) parent[v] = u;
+                    heap.insertOrDecrease(v, nd);
+                }
+            }
+        }
+    }
+
+    // Print shortest distances and paths
+    static void printDistances(int source, int[] dist, int[] parent) {
+        int n = dist.length;
         System.out.println("\nShortest distances from node " + source + ":");
         for (int i = 0; i < n; i++) {
             if (dist[i] == Integer.MAX_VALUE) {
@@ -83,22 +161,23 @@ class Dijkstra {
         System.out.print("Enter number of edges: ");
         int edges = sc.nextInt();
 
-        List<List<Edge>> adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
+        CsrGraph.Builder builder = new CsrGraph.Builder(n, edges);
 
         System.out.println("Enter edges (u v weight):");
         for (int i = 0; i < edges; i++) {
             int u = sc.nextInt();
             int v = sc.nextInt();
             int w = sc.nextInt();
-            adj.get(u).add(new Edge(v, w)); 
-            // For undirected graph, uncomment next line:
-            // adj.get(v).add(new Edge(u, w));
+            builder.addEdge(u, v, w);
+            // For undirected graph, use builder.addUndirectedEdge(u, v, w) instead
         }
+        CsrGraph graph = builder.build();
 
         System.out.print("Enter starting node: ");
         int source = sc.nextInt();
 
-        dijkstra(adj, source);
+        int[] parent = new int[n];
+        int[] dist = dijkstra(graph, source, parent);
+        printDistances(source, dist, parent);
     }
 }
@@ -0,0 +1,222 @@
+/**
+ * Program Title: Reusable Dijkstra Query Engine
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Answers many shortest-path queries on one CsrGraph without printing
+ * and without allocating per query. The engine owns its dist/parent scratch arrays
+ * and an IndexedDaryHeap; instead of refilling dist[] with infinity before every
+ * query, each vertex carries the generation number of the query that last wrote
+ * it, and a value whose stamp is older than the current generation is treated as
+ * "unreached". Starting a new query therefore costs O(1) plus the heap leftovers.
+ *
+ * A query may start from several sources (all at distance 0) and may stop as soon
+ * as every vertex of a target set has been settled. After a query the engine itself
+ * is the result: distance(v), parent(v) and pathTo(v, buffer) read the last search
+ * and stay valid until the next query starts. One engine per thread.
+ *
+ * Time Complexity: O((V' + E') log V') per query, where V'/E' are the vertices and
+ * edges touched before the search stops
+ * Space Complexity: O(V) scratch, allocated once
+ */
+
+import java.util.Arrays;
+
+public final class DijkstraQuery {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CsrGraph graph;
+    private final int[] dist;
+    private final int[] parent;
+    private final int[] reached;   // generation in which dist/parent were last written
+    private final int[] settled;   // generation in which the vertex was polled
+    private final int[] isTarget;  // generation in which the vertex was marked as a target
+    private final IndexedDaryHeap heap;
+    private int generation;
+    private int settledCount;
+
+    public DijkstraQuery(CsrGraph graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        dist = new int[n];
+        parent = new int[n];
+        reached = new int[n];
+        settled = new int[n];
+        isTarget = new int[n];
+        heap = new IndexedDaryHeap(n);
+    }
+
+    // Settle every vertex reachable from source
+    public DijkstraQuery run(int source) {
+        return run(source, -1);
+    }
+
+    // Point-to-point query: stops once target is settled (target < 0 settles everything)
+    public DijkstraQuery run(int source, int target) {
+        startQuery();
+        addSource(source);
+        int remaining = 0;
+        if (target >= 0) {
+            isTarget[target] = generation;
+            remaining = 1;
+        }
+        search(remaining);
+        return this;
+    }
+
+    /**
+     * Multi-source query. Every source starts at distance 0; the search stops once all
+     * targets are settled, or settles everything if targets is null or empty.
+     */
+    public DijkstraQuery run(int[] sources, int[] targets) {
+        startQuery();
+        for (int s : sources) {
+            addSource(s);
+        }
+        int remaining = 0;
+        if (targets != null) {
+            for (int t : targets) {
+                if (isTarget[t] != generation) {
+                    isTarget[t] = generation;
+                    remaining++;
+                }
+            }
+        }
+        search(remaining);
+        return this;
+    }
+
+    /**
+     * Batch of point-to-point queries: out[i] = distance from sources[i] to targets[i].
+     * Reuses the same scratch for every pair, so the whole batch allocates nothing.
+     */
+    public void runBatch(int[] sources, int[] targets, int[] out) {
+        for (int i = 0; i < sources.length; i++) {
+            out[i] = run(sources[i], targets[i]).distance(targets[i]);
+        }
+    }
+
+    // Distance found by the last query; final only if isSettled(v)
+    public int distance(int v) {
+        return reached[v] == generation ? dist[v] : UNREACHABLE;
+    }
+
+    public int parent(int v) {
+        return reached[v] == generation ? parent[v] : -1;
+    }
+
+    public boolean isSettled(int v) {
+        return settled[v] == generation;
+    }
+
+    // Number of vertices settled by the last query
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Writes the path (source first, v last) into buffer and returns its length,
+     * or 0 if v was not settled. The buffer must hold at least V entries in the worst case.
+     */
+    public int pathTo(int v, int[] buffer) {
+        if (!isSettled(v)) return 0;
+        int length = 0;
+        for (int x = v; x != -1; x = parent[x]) {
+            buffer[length++] = x;
+        }
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+        return length;
+    }
+
+    // Convenience version of pathTo that allocates the result
+    public int[] pathTo(int v) {
+        int length = 0;
+        if (isSettled(v)) {
+            for (int x = v; x != -1; x = parent[x]) length++;
+        }
+        int[] path = new int[length];
+        pathTo(v, path);
+        return path;
+    }
+
+    private void startQuery() {
+        heap.clear();
+        settledCount = 0;
+        if (++generation == Integer.MAX_VALUE) {
+            // Stamps are about to wrap around: forget everything once
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            Arrays.fill(isTarget, 0);
+            generation = 1;
+        }
+    }
+
+    private void addSource(int s) {
+        reached[s] = generation;
+        dist[s] = 0;
+        parent[s] = -1;
+        heap.insertOrDecrease(s, 0);
+    }
+
+    // remaining = number of unsettled targets, 0 means settle everything
+    private void search(int remaining) {
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        boolean untilEmpty = remaining == 0;
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[u] = generation;
+            settledCount++;
+            if (!untilEmpty && isTarget[u] == generation && --remaining == 0) {
+                return;
+            }
+
+            int d = dist[u];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                int nd = d + weights[e];
+
+                if (reached[v] != generation) {
+                    reached[v] = generation;
+                    dist[v] = nd;
+                    parent[v] = u;
+                    heap.insert(v, nd);
+                } else if (nd < dist[v]) {
+                    dist[v] = nd;
+                    parent[v] = u;
+                    heap.decreaseKey(v, nd);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        CsrGraph graph = new CsrGraph.Builder(6)
+                .addEdge(0, 1, 4).addEdge(0, 2, 1).addEdge(2, 1, 2)
+                .addEdge(1, 3, 1).addEdge(2, 3, 5).addEdge(3, 4, 3)
+                .addEdge(5, 4, 1)
+                .build();
+        DijkstraQuery query = new DijkstraQuery(graph);
+
+        query.run(0, 3);
+        System.out.println("0 -> 3: distance " + query.distance(3) + ", path " + Arrays.toString(query.pathTo(3))
+                + ", settled " + query.settledCount() + " vertices");
+
+        query.run(new int[]{0, 5}, new int[]{4});
+        System.out.println("{0, 5} -> 4: distance " + query.distance(4) + ", path " + Arrays.toString(query.pathTo(4)));
+
+        int[] sources = {0, 0, 2, 5};
+        int[] targets = {4, 1, 3, 0};
+        int[] out = new int[sources.length];
+        query.runBatch(sources, targets, out);
+        for (int i = 0; i < out.length; i++) {
+            System.out.println(sources[i] + " -> " + targets[i] + ": "
+                    + (out[i] == UNREACHABLE ? "INF" : String.valueOf(out[i])));
+        }
+    }
+}
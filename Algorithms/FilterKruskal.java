@@ -0,0 +1,129 @@
+/**
+ * Program Title: Filter-Kruskal Minimum Spanning Forest
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Kruskal variant by Osipov, Sanders and Singler that avoids sorting
+ * edges that can never be in the tree. Like quicksort it splits the edges around a
+ * random pivot weight and handles the light half first. Before recursing into the
+ * heavy half, it filters out every edge whose endpoints are already in one
+ * component, which on dense graphs is most of them. Small ranges are sorted and
+ * processed with plain Kruskal.
+ * All work happens on one int array of edge indices over the struct-of-arrays edge
+ * store (src[], dst[], w[]) that KruskalAlgorithm uses, with the shared UnionFind.
+ *
+ * Time Complexity: O(E + V log V log(E / V)) expected on random weights
+ * (O(E log E) worst case)
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public final class FilterKruskal {
+
+    // Ranges up to this many edges are sorted and scanned directly
+    private static final int BASE_CASE = 4096;
+
+    private final int[] src, dst, w;
+    private final int[] ids;
+    private final UnionFind sets;
+    private final int[] chosen;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private int count;
+    private long totalWeight;
+    private long[] sortBuffer = new long[BASE_CASE];
+
+    private FilterKruskal(int V, int[] src, int[] dst, int[] w, int m) {
+        this.src = src;
+        this.dst = dst;
+        this.w = w;
+        ids = new int[m];
+        for (int i = 0; i < m; i++) ids[i] = i;
+        sets = new UnionFind(V);
+        chosen = new int[Math.max(V - 1, 0)];
+    }
+
+    // Minimum spanning forest of the first m edges; the arrays are not modified
+    public static KruskalAlgorithm.Result findMST(int V, int[] src, int[] dst, int[] w, int m) {
+        FilterKruskal run = new FilterKruskal(V, src, dst, w, m);
+        run.filterKruskal(0, m);
+        return new KruskalAlgorithm.Result(Arrays.copyOf(run.chosen, run.count), run.totalWeight);
+    }
+
+    private void filterKruskal(int lo, int hi) {
+        // The heavy half is handled by looping instead of recursing
+        while (count < chosen.length && lo < hi) {
+            if (hi - lo <= BASE_CASE) {
+                kruskal(lo, hi);
+                return;
+            }
+            int pivot = medianOfThree(w[ids[lo + random.nextInt(hi - lo)]],
+                    w[ids[lo + random.nextInt(hi - lo)]], w[ids[lo + random.nextInt(hi - lo)]]);
+            int mid = partition(lo, hi, pivot);
+            if (mid == hi) {
+                // Nothing heavier than the pivot (e.g. many equal weights): sort the whole range
+                kruskal(lo, hi);
+                return;
+            }
+            filterKruskal(lo, mid);
+            lo = mid;
+            hi = filter(mid, hi);
+        }
+    }
+
+    // Moves the edges with weight <= pivot to the front of [lo, hi) and returns where they end
+    private int partition(int lo, int hi, int pivot) {
+        int i = lo, j = hi - 1;
+        while (true) {
+            while (i <= j && w[ids[i]] <= pivot) i++;
+            while (i <= j && w[ids[j]] > pivot) j--;
+            if (i >= j) return i;
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+    }
+
+    // Drops edges inside one component from [lo, hi) and returns the new end
+    private int filter(int lo, int hi) {
+        int kept = lo;
+        for (int i = lo; i < hi; i++) {
+            int e = ids[i];
+            if (sets.find(src[e]) != sets.find(dst[e])) ids[kept++] = e;
+        }
+        return kept;
+    }
+
+    // Plain Kruskal on a range: sort by (weight, index) and union
+    private void kruskal(int lo, int hi) {
+        int length = hi - lo;
+        if (sortBuffer.length < length) sortBuffer = new long[length];
+        for (int i = 0; i < length; i++) {
+            int e = ids[lo + i];
+            sortBuffer[i] = (long) w[e] << 32 | e;
+        }
+        Arrays.sort(sortBuffer, 0, length);
+        for (int i = 0; i < length && count < chosen.length; i++) {
+            int e = (int) sortBuffer[i];
+            if (sets.union(src[e], dst[e])) {
+                chosen[count++] = e;
+                totalWeight += w[e];
+            }
+        }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    public static void main(String[] args) {
+        // Same graph as KruskalAlgorithm.main
+        int[] src = {0, 0, 0, 1, 2};
+        int[] dst = {1, 2, 3, 3, 3};
+        int[] w = {10, 6, 5, 15, 4};
+        KruskalAlgorithm.Result mst = findMST(4, src, dst, w, src.length);
+        System.out.println("MST edge indices: " + Arrays.toString(mst.edges()));
+        System.out.println("Total weight of MST: " + mst.totalWeight());
+    }
+}
@@ -7,21 +7,74 @@
  * 
  * It can handle positive and negative edge weights (but not negative cycles).
  *
+ * The matrix is stored flat (row-major int[]) and processed in BLOCK x BLOCK tiles
+ * so that the rows being combined stay in cache. For every diagonal block kb the
+ * tiled algorithm runs three phases:
+ *   1. the diagonal tile (kb, kb) is closed over its own k range,
+ *   2. the tiles in block row kb and block column kb are updated from it,
+ *   3. every remaining tile (i, j) is updated from tiles (i, kb) and (kb, j).
+ * Tiles within phase 2 and within phase 3 are independent and run in parallel on a
+ * ForkJoinPool. Missing edges are INF; since INF + INF still fits in an int the inner
+ * loop is a branch-free Math.min, which never lets a distance exceed INF. Only when the
+ * input has negative weights can an unreachable pair drop below INF (INF plus negative
+ * edges); such entries lie above INF + (n - 1) * minWeight and are reset to INF at the end,
+ * so every distance at or below that bound (all distances below INF without negative
+ * weights) is kept.
+ *
+ * When FloydWarshallVector has been compiled and the jdk.incubator.vector module is
+ * present, the tile update uses SIMD instructions; otherwise the scalar loop is used:
+ *   javac --add-modules jdk.incubator.vector FloydWarshallVector.java
+ *   java --add-modules jdk.incubator.vector FloydWarshall
+ *
  * Example:
  * Input: 4 vertices, adjacency matrix with edge weights
  * Output: Shortest path matrix showing minimum distances between every pair
  *
+ * Time Complexity: O(n^3) work, O(n^3 / p) with p threads
+ * Space Complexity: O(n^2)
+ *
  * Author: Joyston Monteiro
  * Contribution: Hacktoberfest 2025
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class FloydWarshall {
 
     // Define infinity as a large value
     static final int INF = (int) 1e9;
 
+    // Input value that means "no edge" in the interactive main
+    static final int NO_EDGE = 99999;
+
+    // Tile side: three 64 x 64 int tiles (48 KB) fit comfortably in L2
+    static final int BLOCK = 64;
+
+    // Relaxes tile (ib, jb) of the flat matrix through every k in block kb
+    interface TileKernel {
+        void update(int[] dist, int n, int ib, int jb, int kb);
+    }
+
+    static final TileKernel SCALAR_KERNEL = FloydWarshall::updateTile;
+
+    // The Vector API kernel when available, else the scalar one
+    private static final TileKernel KERNEL = Objects.requireNonNullElse(vectorKernel(), SCALAR_KERNEL);
+
+    // Loaded reflectively so this class compiles and runs without the incubator module
+    static TileKernel vectorKernel() {
+        try {
+            return (TileKernel) Class.forName("FloydWarshallVector").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    public static boolean isVectorized() {
+        return KERNEL != SCALAR_KERNEL;
+    }
+
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
 
@@ -29,37 +82,136 @@ public class FloydWarshall {
         int n = sc.nextInt();
 
         int[][] graph = new int[n][n];
-        System.out.println("Enter adjacency matrix (use 99999 for no edge):");
+        System.out.println("Enter adjacency matrix (use " + NO_EDGE + " for no edge):");
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < n; j++) {
-                graph[i][j] = sc.nextInt();
+                int w = sc.nextInt();
+                graph[i][j] = w >= NO_EDGE ? INF : w;
             }
         }
 
-        floydWarshall(graph, n);
+        printSolution(floydWarshall(graph, n), n);
         sc.close();
     }
 
-    // Core algorithm
-    public static void floydWarshall(int[][] graph, int n) {
-        int[][] dist = new int[n][n];
+    // Core algorithm: returns the n x n matrix of shortest distances (INF if unreachable)
+    public static int[][] floydWarshall(int[][] graph, int n) {
+        int[] flat = new int[n * n];
+        for (int i = 0; i < n; i++)
+            System.arraycopy(graph[i], 0, flat, i * n, n);
+
+        int[] dist = floydWarshall(flat, n);
 
-        // Initialize distance matrix
+        int[][] result = new int[n][n];
         for (int i = 0; i < n; i++)
-            for (int j = 0; j < n; j++)
-                dist[i][j] = graph[i][j];
-
-        // Dynamic Programming logic
-        for (int k = 0; k < n; k++) {
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (dist[i][k] + dist[k][j] < dist[i][j])
-                        dist[i][j] = dist[i][k] + dist[k][j];
+            System.arraycopy(dist, i * n, result[i], 0, n);
+        return result;
+    }
+
+    // Row-major variant: matrix[i * n + j] is the weight of edge i -> j; the input is not modified
+    public static int[] floydWarshall(int[] matrix, int n) {
+        return floydWarshall(matrix, n, ForkJoinPool.commonPool());
+    }
+
+    public static int[] floydWarshall(int[] matrix, int n, ForkJoinPool pool) {
+        return floydWarshall(matrix, n, pool, KERNEL);
+    }
+
+    static int[] floydWarshall(int[] matrix, int n, ForkJoinPool pool, TileKernel kernel) {
+        if (matrix.length != n * n) {
+            throw new IllegalArgumentException("Expected " + n * n + " entries, got " + matrix.length);
+        }
+        int[] dist = new int[n * n];
+        int minWeight = 0;
+        for (int i = 0; i < dist.length; i++) {
+            dist[i] = Math.min(matrix[i], INF); // values above INF would overflow when added
+            minWeight = Math.min(minWeight, dist[i]);
+        }
+
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        for (int kb = 0; kb < blocks; kb++) {
+            // Phase 1: the diagonal tile depends only on itself
+            kernel.update(dist, n, kb, kb, kb);
+
+            // Phase 2: tiles in block row kb and block column kb (2 * (blocks - 1) of them)
+            if (blocks > 1) {
+                pool.invoke(new TileTask(kernel, dist, n, blocks, kb, true, 0, 2 * (blocks - 1)));
+                // Phase 3: all other tiles ((blocks - 1)^2 of them)
+                pool.invoke(new TileTask(kernel, dist, n, blocks, kb, false, 0, (blocks - 1) * (blocks - 1)));
+            }
+        }
+
+        if (minWeight < 0) {
+            // A path through a missing edge costs at least INF plus n - 1 of the most negative
+            // weight; computed in long so it cannot overflow for any n and weight
+            long unreachableAbove = INF + (long) (n - 1) * minWeight;
+            for (int i = 0; i < dist.length; i++)
+                if (dist[i] > unreachableAbove) dist[i] = INF;
+        }
+        return dist;
+    }
+
+    // Relax tile (ib, jb) through every k in block kb. With k outermost this is correct
+    // even when the tile is one of the tiles it reads from (phases 1 and 2).
+    static void updateTile(int[] dist, int n, int ib, int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * BLOCK);
+        int jStart = jb * BLOCK, jEnd = Math.min(n, jStart + BLOCK);
+        int kEnd = Math.min(n, (kb + 1) * BLOCK);
+        for (int k = kb * BLOCK; k < kEnd; k++) {
+            int rowK = k * n;
+            for (int i = ib * BLOCK; i < iEnd; i++) {
+                int rowI = i * n;
+                int dik = dist[rowI + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    dist[rowI + j] = Math.min(dist[rowI + j], dik + dist[rowK + j]);
                 }
             }
         }
+    }
+
+    // Updates tiles [from, to) of one phase, splitting the range in half until one tile is left
+    private static final class TileTask extends RecursiveAction {
+        private final TileKernel kernel;
+        private final int[] dist;
+        private final int n, blocks, kb, from, to;
+        private final boolean crossPhase;
+
+        TileTask(TileKernel kernel, int[] dist, int n, int blocks, int kb, boolean crossPhase, int from, int to) {
+            this.kernel = kernel;
+            this.dist = dist;
+            this.n = n;
+            this.blocks = blocks;
+            this.kb = kb;
+            this.crossPhase = crossPhase;
+            this.from = from;
+            this.to = to;
+        }
 
-        printSolution(dist, n);
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(kernel, dist, n, blocks, kb, crossPhase, from, mid),
+                        new TileTask(kernel, dist, n, blocks, kb, crossPhase, mid, to));
+                return;
+            }
+            int others = blocks - 1;
+            if (crossPhase) {
+                // Tiles 0 .. others - 1 are in row kb, the rest in column kb; skip the diagonal
+                int b = from % others;
+                if (b >= kb) b++;
+                if (from < others) {
+                    kernel.update(dist, n, kb, b, kb);
+                } else {
+                    kernel.update(dist, n, b, kb, kb);
+                }
+            } else {
+                int ib = from / others, jb = from % others;
+                if (ib >= kb) ib++;
+                if (jb >= kb) jb++;
+                kernel.update(dist, n, ib, jb, kb);
+            }
+        }
     }
 
     // Display the result
@@ -0,0 +1,89 @@
+/**
+ * Program Title: Floyd-Warshall Scalar vs Vector API Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Times the tiled FloydWarshall on random dense matrices with the
+ * scalar tile kernel and, when available, the FloydWarshallVector kernel, and checks
+ * that both produce the same matrix. Each measurement is the best of several runs
+ * after a warm-up. Run with the incubator module to include the vector kernel:
+ *   javac --add-modules jdk.incubator.vector FloydWarshallVector.java FloydWarshallBenchmark.java
+ *   java --add-modules jdk.incubator.vector FloydWarshallBenchmark 1000 2000 4000
+ *
+ * Usage: java FloydWarshallBenchmark [n ...]
+ * Time Complexity: O(runs * n^3) per size
+ * Space Complexity: O(n^2)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class FloydWarshallBenchmark {
+
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {1000, 2000, 4000};
+        FloydWarshall.TileKernel vector = FloydWarshall.vectorKernel();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        System.out.println("Threads: " + pool.getParallelism()
+                + ", vector kernel: " + (vector != null ? "available" : "unavailable (scalar only)"));
+        checkLargeDistances();
+
+        for (int n : sizes) {
+            int[] matrix = randomMatrix(n, 42);
+            int[] scalarDist = FloydWarshall.floydWarshall(matrix, n, pool, FloydWarshall.SCALAR_KERNEL);
+            long scalar = bestOf(() -> FloydWarshall.floydWarshall(matrix, n, pool, FloydWarshall.SCALAR_KERNEL));
+            System.out.printf("n = %5d  scalar %9.1f ms", n, scalar / 1e6);
+            if (vector != null) {
+                int[] vectorDist = FloydWarshall.floydWarshall(matrix, n, pool, vector);
+                long simd = bestOf(() -> FloydWarshall.floydWarshall(matrix, n, pool, vector));
+                System.out.printf("  vector %9.1f ms  speed-up %5.2fx  %s",
+                        simd / 1e6, (double) scalar / simd,
+                        Arrays.equals(scalarDist, vectorDist) ? "results match" : "MISMATCH");
+            }
+            System.out.println();
+        }
+    }
+
+    // Distances above INF / 2 must survive, and INF plus a negative edge must stay unreachable
+    private static void checkLargeDistances() {
+        int inf = FloydWarshall.INF;
+        int[][] chain = {{0, 400000000, inf}, {inf, 0, 400000000}, {inf, inf, 0}};
+        int[][] far = FloydWarshall.floydWarshall(chain, 3);
+        int[][] negative = {{0, inf, inf}, {inf, 0, -5}, {inf, inf, 0}};
+        int[][] unreachable = FloydWarshall.floydWarshall(negative, 3);
+        boolean ok = far[0][2] == 800000000 && unreachable[0][2] == inf && unreachable[1][2] == -5;
+        System.out.println("0 -> 2 over two 4e8 edges: " + far[0][2] + ", unreachable pair with a negative edge: "
+                + (unreachable[0][2] == inf ? "INF" : unreachable[0][2]) + (ok ? " (correct)" : " (WRONG)"));
+    }
+
+    // Dense matrix with weights in [1, 1000], about 10% missing edges and a zero diagonal
+    private static int[] randomMatrix(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] matrix = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i * n + j] = i == j ? 0 : random.nextInt(10) == 0 ? FloydWarshall.INF : 1 + random.nextInt(1000);
+            }
+        }
+        return matrix;
+    }
+
+    // Best wall time in nanoseconds over MEASURED_RUNS, after WARMUP_RUNS unmeasured runs
+    private static long bestOf(Runnable run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Program Title: Floyd-Warshall Tile Kernel (Vector API)
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: SIMD version of FloydWarshall.updateTile built on the incubating
+ * jdk.incubator.vector API. For every k and every row i of a tile it broadcasts
+ * dist[i][k] and computes dist[i][j] = min(dist[i][j], dist[i][k] + dist[k][j])
+ * for SPECIES_PREFERRED.length() columns at a time (8 ints on AVX2, 16 on AVX-512),
+ * with a scalar loop for the columns left over at the tile edge.
+ *
+ * FloydWarshall loads this class reflectively and falls back to its scalar kernel
+ * when the class or the module is missing, so it is compiled and run separately:
+ *   javac --add-modules jdk.incubator.vector FloydWarshallVector.java
+ *   java --add-modules jdk.incubator.vector FloydWarshallVector
+ *
+ * Time Complexity: O(BLOCK^3 / lanes) per tile
+ * Space Complexity: O(1)
+ */
+
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+public final class FloydWarshallVector implements FloydWarshall.TileKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void update(int[] dist, int n, int ib, int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * FloydWarshall.BLOCK);
+        int jStart = jb * FloydWarshall.BLOCK, jEnd = Math.min(n, jStart + FloydWarshall.BLOCK);
+        int kEnd = Math.min(n, (kb + 1) * FloydWarshall.BLOCK);
+        int vectorEnd = jStart + SPECIES.loopBound(jEnd - jStart);
+        for (int k = kb * FloydWarshall.BLOCK; k < kEnd; k++) {
+            int rowK = k * n;
+            for (int i = ib * FloydWarshall.BLOCK; i < iEnd; i++) {
+                int rowI = i * n;
+                int dik = dist[rowI + k];
+                int j = jStart;
+                for (; j < vectorEnd; j += SPECIES.length()) {
+                    IntVector via = IntVector.fromArray(SPECIES, dist, rowK + j).add(dik);
+                    IntVector.fromArray(SPECIES, dist, rowI + j).min(via).intoArray(dist, rowI + j);
+                }
+                for (; j < jEnd; j++) {
+                    dist[rowI + j] = Math.min(dist[rowI + j], dik + dist[rowK + j]);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int inf = FloydWarshall.INF;
+        int[] graph = {
+            0, 3, inf, 7,
+            8, 0, 2, inf,
+            5, inf, 0, 1,
+            2, inf, inf, 0
+        };
+        System.out.println("Lanes per vector: " + SPECIES.length());
+        System.out.println("Vector kernel in use: " + FloydWarshall.isVectorized());
+        int[] dist = FloydWarshall.floydWarshall(graph, 4);
+        for (int i = 0; i < 4; i++) {
+            System.out.println(Arrays.toString(Arrays.copyOfRange(dist, i * 4, i * 4 + 4)));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Program Title: A* on Flat Grid Arrays with Reusable Search Contexts
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A* over a GridMap without per-cell objects, hash sets or linear
+ * open-list scans. Per-cell search data lives in flat arrays indexed by the padded
+ * cell index: int[] g-scores, a byte[] state (unseen / open / closed) and a byte[]
+ * parent holding the direction the cell was entered from. The open list is an
+ * IndexedDaryHeap, so "is the neighbour already open?" is one array read and a better
+ * g-score becomes an in-place decreaseKey.
+ *
+ * Moves are 4-directional (cost 10, Manhattan heuristic) or 8-directional (diagonal
+ * cost 14, octile heuristic); a diagonal step may not cut the corner of an obstacle.
+ * A heuristic weight w > 1 gives weighted A*, which expands far fewer cells and returns
+ * a path at most w times longer than the optimum. Closed cells are never reopened.
+ *
+ * The engine is immutable and can be shared; each thread searches through its own
+ * Context. A context resets in O(1) between queries: the state byte also stores the
+ * query generation, so the arrays are only wiped once every 63 queries.
+ *
+ * Time Complexity: O(C log C) per query, where C is the number of cells expanded
+ * Space Complexity: O(rows * cols) per context (one int, two bytes and the heap per cell)
+ */
+
+import java.util.Arrays;
+
+public final class GridAStar {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int STRAIGHT_COST = 10;
+    public static final int DIAGONAL_COST = 14;
+    private static final int WEIGHT_SHIFT = 10;
+    private static final int MAX_GENERATION = 63; // 2 * 63 + 1 still fits in a byte
+
+    private final GridMap map;
+    private final boolean diagonal;
+    private final int weightFixed; // heuristic weight in 1 / 2^WEIGHT_SHIFT units
+    // Padded-index offsets of the 8 moves: orthogonal first, then diagonal
+    private final int[] step;
+    private final int[] sideA, sideB; // the two orthogonal cells a diagonal move passes
+    private final int[] stepCost;
+
+    public GridAStar(GridMap map) {
+        this(map, false, 1.0);
+    }
+
+    public GridAStar(GridMap map, boolean diagonal, double weight) {
+        if (!(weight >= 1.0)) throw new IllegalArgumentException("Heuristic weight must be at least 1: " + weight);
+        this.map = map;
+        this.diagonal = diagonal;
+        this.weightFixed = (int) Math.round(weight * (1 << WEIGHT_SHIFT));
+        int s = map.stride;
+        step = new int[]{-s, s, -1, 1, -s - 1, -s + 1, s - 1, s + 1};
+        sideA = new int[]{0, 0, 0, 0, -s, -s, s, s};
+        sideB = new int[]{0, 0, 0, 0, -1, 1, -1, 1};
+        stepCost = new int[]{STRAIGHT_COST, STRAIGHT_COST, STRAIGHT_COST, STRAIGHT_COST,
+                DIAGONAL_COST, DIAGONAL_COST, DIAGONAL_COST, DIAGONAL_COST};
+    }
+
+    public GridMap map() {
+        return map;
+    }
+
+    public boolean isDiagonal() {
+        return diagonal;
+    }
+
+    /**
+     * Per-thread search state. After search() the context is the result: cost(),
+     * path() and expandedCount() describe the last query until the next one starts.
+     */
+    public static final class Context {
+        private final GridAStar engine;
+        private final int[] g;
+        private final byte[] state;  // 2 * generation = open, 2 * generation + 1 = closed
+        private final byte[] parent; // index of the move that reached the cell
+        private final IndexedDaryHeap heap;
+        private int generation;
+        private int start = -1, goal = -1, cost = UNREACHABLE, expandedCount;
+
+        public Context(GridAStar engine) {
+            this.engine = engine;
+            int size = engine.map.open.length;
+            g = new int[size];
+            state = new byte[size];
+            parent = new byte[size];
+            heap = new IndexedDaryHeap(size);
+        }
+
+        /**
+         * Finds a path between two row-major cell ids.
+         * @return the path cost (10 per straight step, 14 per diagonal), or UNREACHABLE
+         */
+        public int search(int startCell, int goalCell) {
+            GridMap map = engine.map;
+            heap.clear();
+            expandedCount = 0;
+            cost = UNREACHABLE;
+            if (++generation > MAX_GENERATION) {
+                Arrays.fill(state, (byte) 0);
+                generation = 1;
+            }
+            if (!map.isPassable(startCell) || !map.isPassable(goalCell)) {
+                start = goal = -1;
+                return UNREACHABLE;
+            }
+            start = map.padded(startCell);
+            goal = map.padded(goalCell);
+
+            byte[] open = map.open;
+            int[] step = engine.step, sideA = engine.sideA, sideB = engine.sideB, stepCost = engine.stepCost;
+            int moves = engine.diagonal ? 8 : 4;
+            int stride = map.stride;
+            int goalRow = goal / stride, goalCol = goal - goalRow * stride;
+            byte openMark = (byte) (2 * generation);
+            byte closedMark = (byte) (2 * generation + 1);
+
+            g[start] = 0;
+            state[start] = openMark;
+            heap.insert(start, engine.heuristic(start, goalRow, goalCol));
+
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                state[u] = closedMark;
+                expandedCount++;
+                if (u == goal) {
+                    cost = g[u];
+                    return cost;
+                }
+
+                int gu = g[u];
+                for (int k = 0; k < moves; k++) {
+                    int v = u + step[k];
+                    if (open[v] == 0) continue;
+                    byte sv = state[v];
+                    if (sv == closedMark) continue;
+                    if (k >= 4 && (open[u + sideA[k]] == 0 || open[u + sideB[k]] == 0)) continue;
+
+                    int ng = gu + stepCost[k];
+                    if (sv != openMark) {
+                        state[v] = openMark;
+                        g[v] = ng;
+                        parent[v] = (byte) k;
+                        heap.insert(v, ng + engine.heuristic(v, goalRow, goalCol));
+                    } else if (ng < g[v]) {
+                        // f - g is the cell's weighted heuristic, which does not change
+                        heap.decreaseKey(v, heap.key(v) - g[v] + ng);
+                        g[v] = ng;
+                        parent[v] = (byte) k;
+                    }
+                }
+            }
+            return UNREACHABLE;
+        }
+
+        // Cost of the last path found, or UNREACHABLE
+        public int cost() {
+            return cost;
+        }
+
+        // Number of cells taken off the open list by the last query
+        public int expandedCount() {
+            return expandedCount;
+        }
+
+        // Row-major cell ids from start to goal of the last query; empty if none was found
+        public int[] path() {
+            if (cost == UNREACHABLE) return new int[0];
+            int[] step = engine.step;
+            int length = 1;
+            for (int v = goal; v != start; v -= step[parent[v]]) length++;
+            int[] path = new int[length];
+            int v = goal;
+            for (int i = length - 1; i > 0; i--) {
+                path[i] = engine.map.unpadded(v);
+                v -= step[parent[v]];
+            }
+            path[0] = engine.map.unpadded(start);
+            return path;
+        }
+    }
+
+    // Weighted Manhattan or octile distance from a padded index to the goal
+    private int heuristic(int index, int goalRow, int goalCol) {
+        int row = index / map.stride;
+        int dr = Math.abs(row - goalRow);
+        int dc = Math.abs(index - row * map.stride - goalCol);
+        int h = diagonal
+                ? STRAIGHT_COST * Math.max(dr, dc) + (DIAGONAL_COST - STRAIGHT_COST) * Math.min(dr, dc)
+                : STRAIGHT_COST * (dr + dc);
+        return (int) ((long) h * weightFixed >> WEIGHT_SHIFT);
+    }
+
+    public static void main(String[] args) {
+        // Same map as AStarSearch.main
+        int[][] blocks = {{1, 2}, {1, 3}, {1, 4}, {2, 4}, {3, 4}, {4, 4}, {5, 4}, {5, 3}, {5, 2}, {5, 1}, {7, 6}, {7, 7}};
+        GridMap map = GridMap.fromBlocks(10, 10, blocks);
+        int start = map.cell(0, 0), goal = map.cell(7, 8);
+
+        GridAStar fourWay = new GridAStar(map);
+        GridAStar.Context context = new GridAStar.Context(fourWay);
+        context.search(start, goal);
+        System.out.println("4-directional: cost " + context.cost() + ", expanded " + context.expandedCount());
+        System.out.print(map.render(context.path()));
+
+        GridAStar eightWay = new GridAStar(map, true, 1.0);
+        GridAStar.Context diagonalContext = new GridAStar.Context(eightWay);
+        diagonalContext.search(start, goal);
+        System.out.println("8-directional: cost " + diagonalContext.cost() + ", expanded " + diagonalContext.expandedCount());
+        System.out.print(map.render(diagonalContext.path()));
+
+        // The same context answers further queries without reallocating
+        GridAStar.Context weighted = new GridAStar.Context(new GridAStar(map, true, 2.0));
+        for (int[] query : new int[][]{{0, 0, 7, 8}, {9, 0, 0, 9}, {6, 6, 9, 9}}) {
+            int cost = weighted.search(map.cell(query[0], query[1]), map.cell(query[2], query[3]));
+            diagonalContext.search(map.cell(query[0], query[1]), map.cell(query[2], query[3]));
+            System.out.printf("Weighted (w = 2) %s -> %s: cost %d (optimal %d), expanded %d vs %d%n",
+                    Arrays.toString(new int[]{query[0], query[1]}), Arrays.toString(new int[]{query[2], query[3]}),
+                    cost, diagonalContext.cost(), weighted.expandedCount(), diagonalContext.expandedCount());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Program Title: Immutable Grid Map for Path-Finding
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A rows x cols occupancy grid stored as one flat byte[] (1 = passable,
+ * 0 = blocked) instead of a matrix of node objects. The public API numbers cells
+ * row-major (cell = row * cols + col). Internally the grid carries a one-cell wall
+ * border, so a search can step to any of the 8 neighbours of an interior index by
+ * adding a constant (+-1, +-stride, +-stride +-1) without bounds checks; the
+ * padded(cell) / unpadded(index) pair converts between the two numberings.
+ *
+ * A GridMap never changes after construction, so one instance can be shared by any
+ * number of searches and threads. withCell returns a modified copy.
+ *
+ * Time Complexity: O(rows * cols) to build, O(1) per cell query
+ * Space Complexity: O((rows + 2) * (cols + 2)) bytes
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public final class GridMap {
+
+    private final int rows, cols;
+    final int stride;   // cols + 2, row length of the padded grid
+    final byte[] open;  // padded grid, 1 = passable; the border is always 0
+    private final int passableCount;
+
+    private GridMap(int rows, int cols, byte[] open) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = cols + 2;
+        this.open = open;
+        int count = 0;
+        for (byte b : open) count += b;
+        this.passableCount = count;
+    }
+
+    private static byte[] emptyPadded(int rows, int cols) {
+        if (rows < 1 || cols < 1) throw new IllegalArgumentException("Grid must be at least 1 x 1");
+        return new byte[(rows + 2) * (cols + 2)];
+    }
+
+    /**
+     * Builds a grid from text rows; '#' is blocked, any other character is passable.
+     * All rows must have the same length.
+     */
+    public static GridMap fromStrings(String... lines) {
+        int rows = lines.length;
+        int cols = rows == 0 ? 0 : lines[0].length();
+        byte[] open = emptyPadded(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            if (lines[r].length() != cols) throw new IllegalArgumentException("Row " + r + " has a different length");
+            for (int c = 0; c < cols; c++) {
+                if (lines[r].charAt(c) != '#') open[(r + 1) * (cols + 2) + c + 1] = 1;
+            }
+        }
+        return new GridMap(rows, cols, open);
+    }
+
+    // All cells passable except the {row, col} pairs in blocks
+    public static GridMap fromBlocks(int rows, int cols, int[][] blocks) {
+        byte[] open = emptyPadded(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            Arrays.fill(open, (r + 1) * (cols + 2) + 1, (r + 1) * (cols + 2) + cols + 1, (byte) 1);
+        }
+        for (int[] block : blocks) {
+            if (block[0] < 0 || block[0] >= rows || block[1] < 0 || block[1] >= cols) {
+                throw new IllegalArgumentException("Block " + Arrays.toString(block) + " out of range");
+            }
+            open[(block[0] + 1) * (cols + 2) + block[1] + 1] = 0;
+        }
+        return new GridMap(rows, cols, open);
+    }
+
+    // Every cell is blocked independently with probability obstacleDensity
+    public static GridMap random(int rows, int cols, double obstacleDensity, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] open = emptyPadded(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (random.nextDouble() >= obstacleDensity) open[(r + 1) * (cols + 2) + c + 1] = 1;
+            }
+        }
+        return new GridMap(rows, cols, open);
+    }
+
+    /**
+     * Maze with 1-cell corridors carved by a randomized depth-first search between the
+     * cells at even (row, col). Afterwards each remaining wall between two corridor cells
+     * is knocked out with probability openWalls, which adds loops (0 gives a perfect maze).
+     */
+    public static GridMap maze(int rows, int cols, double openWalls, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int stride = cols + 2;
+        byte[] open = emptyPadded(rows, cols);
+        int[] stack = new int[((rows + 1) / 2) * ((cols + 1) / 2)];
+        int[] dr = {-2, 2, 0, 0};
+        int[] dc = {0, 0, -2, 2};
+        int[] order = {0, 1, 2, 3};
+        int top = 0;
+        stack[top++] = 0;
+        open[stride + 1] = 1;
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int r = cell / cols, c = cell % cols;
+            // Visit the unvisited even-cell neighbours in random order; backtrack when there is none
+            for (int i = 3; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            boolean advanced = false;
+            for (int k : order) {
+                int nr = r + dr[k], nc = c + dc[k];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || open[(nr + 1) * stride + nc + 1] != 0) continue;
+                open[(r + dr[k] / 2 + 1) * stride + c + dc[k] / 2 + 1] = 1;
+                open[(nr + 1) * stride + nc + 1] = 1;
+                stack[top++] = nr * cols + nc;
+                advanced = true;
+                break;
+            }
+            if (!advanced) top--;
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int i = (r + 1) * stride + c + 1;
+                if (open[i] != 0 || (r % 2 == 1) == (c % 2 == 1)) continue;
+                // A wall cell between two corridor cells, horizontally or vertically
+                boolean between = r % 2 == 0 ? open[i - 1] != 0 && open[i + 1] != 0
+                        : open[i - stride] != 0 && open[i + stride] != 0;
+                if (between && random.nextDouble() < openWalls) open[i] = 1;
+            }
+        }
+        return new GridMap(rows, cols, open);
+    }
+
+    // Copy of this grid with one cell set to passable or blocked
+    public GridMap withCell(int row, int col, boolean passable) {
+        checkCell(row, col);
+        byte[] copy = open.clone();
+        copy[(row + 1) * stride + col + 1] = (byte) (passable ? 1 : 0);
+        return new GridMap(rows, cols, copy);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int cellCount() {
+        return rows * cols;
+    }
+
+    public int passableCount() {
+        return passableCount;
+    }
+
+    public int cell(int row, int col) {
+        checkCell(row, col);
+        return row * cols + col;
+    }
+
+    public int row(int cell) {
+        return cell / cols;
+    }
+
+    public int col(int cell) {
+        return cell % cols;
+    }
+
+    public boolean isPassable(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && open[(row + 1) * stride + col + 1] != 0;
+    }
+
+    public boolean isPassable(int cell) {
+        return cell >= 0 && cell < rows * cols && open[padded(cell)] != 0;
+    }
+
+    // Row-major cell id -> index into the padded grid
+    int padded(int cell) {
+        int r = cell / cols;
+        return (r + 1) * stride + cell - r * cols + 1;
+    }
+
+    // Padded index -> row-major cell id
+    int unpadded(int index) {
+        int r = index / stride;
+        return (r - 1) * cols + index - r * stride - 1;
+    }
+
+    private void checkCell(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") outside " + rows + " x " + cols);
+        }
+    }
+
+    /**
+     * Draws the grid with '#' for obstacles, '.' for free cells and the path
+     * (row-major cell ids) as 'S', '*', ..., 'E'.
+     */
+    public String render(int[] path) {
+        char[][] picture = new char[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                picture[r][c] = isPassable(r, c) ? '.' : '#';
+            }
+        }
+        if (path != null) {
+            for (int i = 0; i < path.length; i++) {
+                picture[row(path[i])][col(path[i])] = i == 0 ? 'S' : i == path.length - 1 ? 'E' : '*';
+            }
+        }
+        StringBuilder out = new StringBuilder();
+        for (char[] line : picture) {
+            for (char ch : line) out.append(ch).append(' ');
+            out.setLength(out.length() - 1);
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    public static void main(String[] args) {
+        GridMap map = GridMap.fromStrings(
+                "....#",
+                ".##.#",
+                "....."
+        );
+        System.out.println(map.rows() + " x " + map.cols() + ", passable cells: " + map.passableCount());
+        System.out.println("Cell (2, 3) = " + map.cell(2, 3) + ", passable: " + map.isPassable(2, 3));
+        System.out.println("Padded index of cell 13 = " + map.padded(13) + ", back: " + map.unpadded(map.padded(13)));
+        System.out.print(map.withCell(2, 4, false).render(new int[]{0, 5, 10, 11, 12, 13}));
+        System.out.println("Maze:");
+        System.out.print(GridMap.maze(7, 11, 0.0, 4).render(null));
+    }
+}
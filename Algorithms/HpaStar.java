@@ -0,0 +1,600 @@
+/**
+ * Program Title: Hierarchical Path-Finding A* (HPA*) with a Cached Abstract Graph
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Near-optimal grid path-finding for many queries on one large map
+ * (Botea, Mueller & Schaeffer). The grid is cut into square clusters. Wherever two
+ * neighbouring clusters share a run of cells that are open on both sides of their
+ * border, the run becomes an entrance: one transition in its middle, or one at each
+ * end if it is long. The cells on both sides of a transition are the abstract nodes.
+ * Inside every cluster the distances between its nodes are computed once with a
+ * Dijkstra search that stays inside the cluster.
+ *
+ * A query connects the start and the goal to the nodes of their own clusters, runs A*
+ * on the small abstract graph, and refines the resulting node sequence into cells with
+ * searches that are again confined to one cluster at a time.
+ *
+ * The map is a private copy and setPassable() can change it. Changing a cell only marks
+ * its own cluster stale, plus, for a cell on a cluster edge, that border and the
+ * cluster on the other side. Stale clusters are rebuilt lazily before the next query.
+ * The abstract graph is kept in flat arrays (CSR-style inter-cluster edges and a k x k
+ * distance table per cluster).
+ *
+ * Paths are usually within a few percent of optimal. They are not always optimal,
+ * because they must pass through the chosen transition cells.
+ *
+ * Time Complexity: building O(C * k * s^2 log s) for C clusters of side s with k nodes;
+ * query O(s^2 log s + N log N) on N abstract nodes, plus O(path length * s^2) to refine
+ * Space Complexity: O(rows * cols) bytes for the map plus O(C * k^2) for the cache
+ */
+
+import java.util.Arrays;
+
+public final class HpaStar {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int SPLIT_ENTRANCE_LENGTH = 6;
+    private static final int[] DR = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] DC = {0, 0, -1, 1, -1, 1, -1, 1};
+    private static final int[] MOVE_COST = {
+            GridAStar.STRAIGHT_COST, GridAStar.STRAIGHT_COST, GridAStar.STRAIGHT_COST, GridAStar.STRAIGHT_COST,
+            GridAStar.DIAGONAL_COST, GridAStar.DIAGONAL_COST, GridAStar.DIAGONAL_COST, GridAStar.DIAGONAL_COST};
+
+    private final int rows, cols, stride;
+    private final int clusterSize, clusterRows, clusterCols;
+    private final boolean diagonal;
+    private final byte[] open; // padded grid as in GridMap, owned by this instance
+
+    // Cluster cache; cells are padded indices
+    private final int[][] eastTransitions;  // (cell in this cluster, cell in the east neighbour) pairs
+    private final int[][] southTransitions; // (cell in this cluster, cell in the south neighbour) pairs
+    private final int[][] nodeCells;        // sorted cells of each cluster's abstract nodes
+    private final int[][] intra;            // k x k in-cluster distances between those nodes
+    private final boolean[] clusterStale, eastStale, southStale;
+    private boolean stale = true;
+    private long clusterBuilds;
+
+    // Abstract graph flattened from the cache: node ids are nodeBase[cluster] + index in nodeCells
+    private final int[] nodeBase;
+    private int[] nodeCell, nodeCluster, interOffsets, interTargets;
+    private int nodeCount;
+
+    // Dijkstra scratch for searches confined to one cluster (local index = row * width + col)
+    private final int[] localDist, localStamp, localTarget;
+    private final byte[] localMove;
+    private final IndexedDaryHeap localHeap;
+    private int localGeneration, targetGeneration;
+    private int rectRow, rectCol, rectHeight, rectWidth;
+
+    // Abstract A* scratch: ids nodeCount and nodeCount + 1 are the query's start and goal
+    private int[] absG, absParent, absStamp;
+    private IndexedDaryHeap absHeap;
+    private int absGeneration;
+    private int[] startDist = new int[0], goalDist = new int[0];
+
+    // Last query
+    private int start = -1, goal = -1, goalCluster, cost = UNREACHABLE, expandedCount;
+    private int[] waypoints = new int[0];
+
+    public HpaStar(GridMap map, int clusterSize) {
+        this(map, clusterSize, false);
+    }
+
+    public HpaStar(GridMap map, int clusterSize, boolean diagonal) {
+        if (clusterSize < 2) throw new IllegalArgumentException("Cluster size must be at least 2");
+        rows = map.rows();
+        cols = map.cols();
+        stride = map.stride;
+        open = map.open.clone();
+        this.clusterSize = clusterSize;
+        this.diagonal = diagonal;
+        clusterRows = (rows + clusterSize - 1) / clusterSize;
+        clusterCols = (cols + clusterSize - 1) / clusterSize;
+        int clusters = clusterRows * clusterCols;
+
+        eastTransitions = new int[clusters][];
+        southTransitions = new int[clusters][];
+        nodeCells = new int[clusters][];
+        intra = new int[clusters][];
+        clusterStale = new boolean[clusters];
+        eastStale = new boolean[clusters];
+        southStale = new boolean[clusters];
+        Arrays.fill(clusterStale, true);
+        Arrays.fill(eastStale, true);
+        Arrays.fill(southStale, true);
+        nodeBase = new int[clusters + 1];
+
+        int area = clusterSize * clusterSize;
+        localDist = new int[area];
+        localStamp = new int[area];
+        localTarget = new int[area];
+        localMove = new byte[area];
+        localHeap = new IndexedDaryHeap(area);
+    }
+
+    public int clusterCount() {
+        return clusterRows * clusterCols;
+    }
+
+    // Number of abstract nodes after bringing the cache up to date
+    public int abstractNodeCount() {
+        refresh();
+        return nodeCount;
+    }
+
+    // Total number of cluster rebuilds so far, including the initial build
+    public long clusterBuilds() {
+        return clusterBuilds;
+    }
+
+    public boolean isPassable(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && open[(row + 1) * stride + col + 1] != 0;
+    }
+
+    /**
+     * Opens or blocks one cell. Only the cluster of the cell, and for a cell on a cluster
+     * edge the border and the neighbouring cluster, are rebuilt before the next query.
+     */
+    public void setPassable(int row, int col, boolean passable) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") outside " + rows + " x " + cols);
+        }
+        int p = (row + 1) * stride + col + 1;
+        byte value = (byte) (passable ? 1 : 0);
+        if (open[p] == value) return;
+        open[p] = value;
+
+        int cr = row / clusterSize, cc = col / clusterSize;
+        int id = cr * clusterCols + cc;
+        clusterStale[id] = true;
+        stale = true;
+        if (col % clusterSize == clusterSize - 1 && cc + 1 < clusterCols) markEast(id);
+        if (col % clusterSize == 0 && cc > 0) markEast(id - 1);
+        if (row % clusterSize == clusterSize - 1 && cr + 1 < clusterRows) markSouth(id);
+        if (row % clusterSize == 0 && cr > 0) markSouth(id - clusterCols);
+    }
+
+    private void markEast(int id) {
+        eastStale[id] = true;
+        clusterStale[id] = true;
+        clusterStale[id + 1] = true;
+    }
+
+    private void markSouth(int id) {
+        southStale[id] = true;
+        clusterStale[id] = true;
+        clusterStale[id + clusterCols] = true;
+    }
+
+    /**
+     * Finds a path between two row-major cell ids (cell = row * cols + col).
+     * @return the path cost (10 per straight step, 14 per diagonal), or UNREACHABLE
+     */
+    public int search(int startCell, int goalCell) {
+        refresh();
+        cost = UNREACHABLE;
+        expandedCount = 0;
+        waypoints = new int[0];
+        if (startCell < 0 || startCell >= rows * cols || goalCell < 0 || goalCell >= rows * cols) {
+            throw new IndexOutOfBoundsException("Cell id out of range");
+        }
+        start = (startCell / cols + 1) * stride + startCell % cols + 1;
+        goal = (goalCell / cols + 1) * stride + goalCell % cols + 1;
+        if (open[start] == 0 || open[goal] == 0) return UNREACHABLE;
+
+        // Connect the start and the goal to the nodes of their clusters
+        int startCluster = clusterOf(start);
+        goalCluster = clusterOf(goal);
+        localSearch(startCluster, start, -1);
+        startDist = nodeDistances(startCluster, startDist);
+        int direct = startCluster == goalCluster ? localDistance(goal) : UNREACHABLE;
+        localSearch(goalCluster, goal, -1);
+        goalDist = nodeDistances(goalCluster, goalDist);
+
+        int source = nodeCount, target = nodeCount + 1;
+        prepareAbstractSearch();
+        absStamp[source] = absGeneration;
+        absG[source] = 0;
+        absParent[source] = -1;
+        absHeap.insert(source, heuristic(start));
+
+        while (!absHeap.isEmpty()) {
+            int u = absHeap.poll();
+            absStamp[u] = -absGeneration; // closed
+            expandedCount++;
+            int gu = absG[u];
+            if (u == target) {
+                cost = gu;
+                recordWaypoints(target);
+                return cost;
+            }
+
+            if (u == source) {
+                int base = nodeBase[startCluster];
+                for (int i = 0, k = nodeCells[startCluster].length; i < k; i++) {
+                    if (startDist[i] != UNREACHABLE) relax(u, base + i, startDist[i]);
+                }
+                if (direct != UNREACHABLE) relax(u, target, direct);
+                continue;
+            }
+
+            int c = nodeCluster[u];
+            int base = nodeBase[c];
+            int k = nodeBase[c + 1] - base;
+            int[] table = intra[c];
+            for (int j = 0, row = (u - base) * k; j < k; j++) {
+                int d = table[row + j];
+                if (d != UNREACHABLE && base + j != u) relax(u, base + j, gu + d);
+            }
+            for (int e = interOffsets[u]; e < interOffsets[u + 1]; e++) {
+                relax(u, interTargets[e], gu + GridAStar.STRAIGHT_COST);
+            }
+            if (c == goalCluster && goalDist[u - base] != UNREACHABLE) {
+                relax(u, target, gu + goalDist[u - base]);
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    // Cost of the last path found, or UNREACHABLE
+    public int cost() {
+        return cost;
+    }
+
+    // Abstract nodes (including start and goal) expanded by the last query
+    public int expandedCount() {
+        return expandedCount;
+    }
+
+    // Every cell of the last path, refined cluster by cluster; empty if none was found
+    public int[] path() {
+        if (cost == UNREACHABLE) return new int[0];
+        int[] cells = new int[16];
+        int length = 0;
+        cells[length++] = waypoints[0];
+        for (int i = 1; i < waypoints.length; i++) {
+            int from = waypoints[i - 1], to = waypoints[i];
+            int cluster = clusterOf(from);
+            if (cluster != clusterOf(to)) {
+                // Transition across a cluster border: the two cells are adjacent
+                if (length == cells.length) cells = Arrays.copyOf(cells, length * 2);
+                cells[length++] = to;
+                continue;
+            }
+            localSearch(cluster, from, to);
+            int steps = 0;
+            for (int p = to; p != from; p -= step(localMove[localIndex(p)])) steps++;
+            if (length + steps > cells.length) cells = Arrays.copyOf(cells, Math.max(cells.length * 2, length + steps));
+            int at = length + steps;
+            for (int p = to; p != from; p -= step(localMove[localIndex(p)])) cells[--at] = p;
+            length += steps;
+        }
+        int[] path = new int[length];
+        for (int i = 0; i < length; i++) {
+            path[i] = (cells[i] / stride - 1) * cols + cells[i] % stride - 1;
+        }
+        return path;
+    }
+
+    private void relax(int u, int v, int g) {
+        if (absStamp[v] == -absGeneration) return;
+        if (absStamp[v] != absGeneration) {
+            absStamp[v] = absGeneration;
+            absG[v] = g;
+            absParent[v] = u;
+            absHeap.insert(v, g + heuristic(cellOf(v)));
+        } else if (g < absG[v]) {
+            absHeap.decreaseKey(v, absHeap.key(v) - absG[v] + g);
+            absG[v] = g;
+            absParent[v] = u;
+        }
+    }
+
+    private int cellOf(int abstractNode) {
+        return abstractNode < nodeCount ? nodeCell[abstractNode] : abstractNode == nodeCount ? start : goal;
+    }
+
+    private void recordWaypoints(int target) {
+        int length = 0;
+        for (int v = target; v != -1; v = absParent[v]) length++;
+        waypoints = new int[length];
+        for (int v = target, i = length - 1; v != -1; v = absParent[v], i--) {
+            waypoints[i] = cellOf(v);
+        }
+    }
+
+    private void prepareAbstractSearch() {
+        int size = nodeCount + 2;
+        if (absG == null || absG.length < size) {
+            int capacity = Math.max(size, absG == null ? 0 : absG.length * 3 / 2);
+            absG = new int[capacity];
+            absParent = new int[capacity];
+            absStamp = new int[capacity];
+            absHeap = new IndexedDaryHeap(capacity);
+            absGeneration = 0;
+        }
+        absHeap.clear();
+        if (++absGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(absStamp, 0);
+            absGeneration = 1;
+        }
+    }
+
+    private int heuristic(int cell) {
+        int row = cell / stride, goalRow = goal / stride;
+        int dr = Math.abs(row - goalRow);
+        int dc = Math.abs(cell - row * stride - (goal - goalRow * stride));
+        return diagonal
+                ? GridAStar.STRAIGHT_COST * Math.max(dr, dc) + (GridAStar.DIAGONAL_COST - GridAStar.STRAIGHT_COST) * Math.min(dr, dc)
+                : GridAStar.STRAIGHT_COST * (dr + dc);
+    }
+
+    private int clusterOf(int cell) {
+        int row = cell / stride - 1, col = cell % stride - 1;
+        return (row / clusterSize) * clusterCols + col / clusterSize;
+    }
+
+    // Rebuilds stale borders and clusters, then re-flattens the abstract graph
+    private void refresh() {
+        if (!stale) return;
+        int clusters = clusterRows * clusterCols;
+        for (int id = 0; id < clusters; id++) {
+            if (eastStale[id]) eastTransitions[id] = findTransitions(id, true);
+            if (southStale[id]) southTransitions[id] = findTransitions(id, false);
+        }
+        for (int id = 0; id < clusters; id++) {
+            if (clusterStale[id]) buildCluster(id);
+        }
+        Arrays.fill(eastStale, false);
+        Arrays.fill(southStale, false);
+        Arrays.fill(clusterStale, false);
+        flatten();
+        stale = false;
+    }
+
+    /**
+     * Entrances on the east or south border of a cluster, as (this side, other side)
+     * cell pairs: one transition in the middle of each open run, or one at each end
+     * of runs of SPLIT_ENTRANCE_LENGTH cells or more.
+     */
+    private int[] findTransitions(int id, boolean east) {
+        int cr = id / clusterCols, cc = id % clusterCols;
+        if (east ? cc + 1 >= clusterCols : cr + 1 >= clusterRows) return new int[0];
+        int first, count, along, across;
+        if (east) {
+            first = (cr * clusterSize + 1) * stride + (cc + 1) * clusterSize; // last column of this cluster
+            count = Math.min(clusterSize, rows - cr * clusterSize);
+            along = stride;
+            across = 1;
+        } else {
+            first = ((cr + 1) * clusterSize) * stride + cc * clusterSize + 1; // last row of this cluster
+            count = Math.min(clusterSize, cols - cc * clusterSize);
+            along = 1;
+            across = stride;
+        }
+
+        int[] pairs = new int[8];
+        int size = 0;
+        int runStart = -1;
+        for (int i = 0; i <= count; i++) {
+            int p = first + i * along;
+            boolean usable = i < count && open[p] != 0 && open[p + across] != 0;
+            if (usable && runStart < 0) runStart = i;
+            if (!usable && runStart >= 0) {
+                int runLength = i - runStart;
+                if (size + 4 > pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                if (runLength < SPLIT_ENTRANCE_LENGTH) {
+                    int q = first + (runStart + (runLength - 1) / 2) * along;
+                    pairs[size++] = q;
+                    pairs[size++] = q + across;
+                } else {
+                    int q = first + runStart * along, r = first + (i - 1) * along;
+                    pairs[size++] = q;
+                    pairs[size++] = q + across;
+                    pairs[size++] = r;
+                    pairs[size++] = r + across;
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, size);
+    }
+
+    // Collects the cluster's transition cells and fills its node-to-node distance table
+    private void buildCluster(int id) {
+        int cr = id / clusterCols, cc = id % clusterCols;
+        int[] west = cc > 0 ? eastTransitions[id - 1] : new int[0];
+        int[] north = cr > 0 ? southTransitions[id - clusterCols] : new int[0];
+        int[] cells = new int[(eastTransitions[id].length + southTransitions[id].length + west.length + north.length) / 2];
+        int k = 0;
+        for (int i = 0; i < eastTransitions[id].length; i += 2) cells[k++] = eastTransitions[id][i];
+        for (int i = 0; i < southTransitions[id].length; i += 2) cells[k++] = southTransitions[id][i];
+        for (int i = 1; i < west.length; i += 2) cells[k++] = west[i];
+        for (int i = 1; i < north.length; i += 2) cells[k++] = north[i];
+        Arrays.sort(cells);
+        int unique = 0;
+        for (int i = 0; i < k; i++) {
+            if (unique == 0 || cells[unique - 1] != cells[i]) cells[unique++] = cells[i];
+        }
+        cells = Arrays.copyOf(cells, unique);
+        nodeCells[id] = cells;
+
+        // Distances are symmetric, so the search from node i only has to settle nodes i + 1 ..
+        int[] table = new int[unique * unique];
+        selectCluster(id);
+        for (int i = 0; i + 1 < unique; i++) {
+            if (++targetGeneration == Integer.MAX_VALUE) {
+                Arrays.fill(localTarget, 0);
+                targetGeneration = 1;
+            }
+            for (int j = i + 1; j < unique; j++) localTarget[localIndex(cells[j])] = targetGeneration;
+            localSearch(id, cells[i], -1, unique - 1 - i);
+            for (int j = i + 1; j < unique; j++) {
+                table[i * unique + j] = table[j * unique + i] = localDistance(cells[j]);
+            }
+        }
+        intra[id] = table;
+        clusterBuilds++;
+    }
+
+    // Numbers the nodes of all clusters consecutively and lays the border transitions out as CSR edges
+    private void flatten() {
+        int clusters = clusterRows * clusterCols;
+        for (int id = 0; id < clusters; id++) {
+            nodeBase[id + 1] = nodeBase[id] + nodeCells[id].length;
+        }
+        nodeCount = nodeBase[clusters];
+        nodeCell = new int[nodeCount];
+        nodeCluster = new int[nodeCount];
+        for (int id = 0; id < clusters; id++) {
+            System.arraycopy(nodeCells[id], 0, nodeCell, nodeBase[id], nodeCells[id].length);
+            Arrays.fill(nodeCluster, nodeBase[id], nodeBase[id + 1], id);
+        }
+
+        interOffsets = new int[nodeCount + 1];
+        for (int pass = 0; pass < 2; pass++) {
+            int[] next = pass == 0 ? null : Arrays.copyOf(interOffsets, nodeCount);
+            for (int id = 0; id < clusters; id++) {
+                linkBorder(id, id + 1, eastTransitions[id], next);
+                linkBorder(id, id + clusterCols, southTransitions[id], next);
+            }
+            if (pass == 0) {
+                for (int v = 0; v < nodeCount; v++) interOffsets[v + 1] += interOffsets[v];
+                interTargets = new int[interOffsets[nodeCount]];
+            }
+        }
+    }
+
+    // Counts (next == null) or writes the edges of one border in both directions
+    private void linkBorder(int id, int neighbour, int[] pairs, int[] next) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            int a = nodeBase[id] + Arrays.binarySearch(nodeCells[id], pairs[i]);
+            int b = nodeBase[neighbour] + Arrays.binarySearch(nodeCells[neighbour], pairs[i + 1]);
+            if (next == null) {
+                interOffsets[a + 1]++;
+                interOffsets[b + 1]++;
+            } else {
+                interTargets[next[a]++] = b;
+                interTargets[next[b]++] = a;
+            }
+        }
+    }
+
+    // Distances from the last local search to each node of the cluster, reusing the buffer if it fits
+    private int[] nodeDistances(int cluster, int[] buffer) {
+        int[] cells = nodeCells[cluster];
+        int[] out = buffer.length >= cells.length ? buffer : new int[Math.max(cells.length, buffer.length * 2)];
+        for (int i = 0; i < cells.length; i++) out[i] = localDistance(cells[i]);
+        return out;
+    }
+
+    private void localSearch(int cluster, int source, int target) {
+        localSearch(cluster, source, target, 0);
+    }
+
+    /**
+     * Dijkstra from source that never leaves the cluster's rectangle. Stops when target
+     * is settled or, if targetsLeft > 0, once that many cells marked in localTarget with
+     * the current targetGeneration are settled; otherwise settles the whole rectangle.
+     */
+    private void localSearch(int cluster, int source, int target, int targetsLeft) {
+        selectCluster(cluster);
+        localHeap.clear();
+        if (++localGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(localStamp, 0);
+            localGeneration = 1;
+        }
+        int moves = diagonal ? 8 : 4;
+        int s = localIndex(source);
+        localStamp[s] = localGeneration;
+        localDist[s] = 0;
+        localHeap.insert(s, 0);
+
+        while (!localHeap.isEmpty()) {
+            int li = localHeap.poll();
+            int r = li / rectWidth, c = li - r * rectWidth;
+            int p = (rectRow + r + 1) * stride + rectCol + c + 1;
+            if (p == target || (localTarget[li] == targetGeneration && --targetsLeft == 0)) return;
+            int d = localDist[li];
+            for (int k = 0; k < moves; k++) {
+                int nr = r + DR[k], nc = c + DC[k];
+                if (nr < 0 || nr >= rectHeight || nc < 0 || nc >= rectWidth) continue;
+                if (open[p + DR[k] * stride + DC[k]] == 0) continue;
+                if (k >= 4 && (open[p + DR[k] * stride] == 0 || open[p + DC[k]] == 0)) continue;
+                int nl = nr * rectWidth + nc;
+                int nd = d + MOVE_COST[k];
+                if (localStamp[nl] != localGeneration) {
+                    localStamp[nl] = localGeneration;
+                    localDist[nl] = nd;
+                    localMove[nl] = (byte) k;
+                    localHeap.insert(nl, nd);
+                } else if (nd < localDist[nl]) {
+                    localDist[nl] = nd;
+                    localMove[nl] = (byte) k;
+                    localHeap.decreaseKey(nl, nd);
+                }
+            }
+        }
+    }
+
+    private void selectCluster(int cluster) {
+        rectRow = (cluster / clusterCols) * clusterSize;
+        rectCol = (cluster % clusterCols) * clusterSize;
+        rectHeight = Math.min(clusterSize, rows - rectRow);
+        rectWidth = Math.min(clusterSize, cols - rectCol);
+    }
+
+    private int localIndex(int cell) {
+        return (cell / stride - 1 - rectRow) * rectWidth + cell % stride - 1 - rectCol;
+    }
+
+    private int localDistance(int cell) {
+        int li = localIndex(cell);
+        return localStamp[li] == localGeneration ? localDist[li] : UNREACHABLE;
+    }
+
+    private int step(int move) {
+        return DR[move] * stride + DC[move];
+    }
+
+    public static void main(String[] args) {
+        GridMap map = GridMap.fromStrings(
+                "............#.......",
+                "............#.......",
+                "....#########.......",
+                "....#...............",
+                "....#.......#####...",
+                "....#.......#.......",
+                ".....#......#.......",
+                "............#.......",
+                "#######.#####.......",
+                "....................");
+        HpaStar hpa = new HpaStar(map, 5);
+        System.out.println(hpa.clusterCount() + " clusters, " + hpa.abstractNodeCount()
+                + " abstract nodes, " + hpa.clusterBuilds() + " cluster builds");
+
+        int start = map.cell(0, 0), goal = map.cell(9, 19);
+        hpa.search(start, goal);
+        GridAStar.Context astar = new GridAStar.Context(new GridAStar(map));
+        astar.search(start, goal);
+        System.out.println("HPA* cost " + hpa.cost() + " (A* optimum " + astar.cost() + "), "
+                + hpa.expandedCount() + " abstract expansions vs " + astar.expandedCount() + " cells");
+        System.out.print(map.render(hpa.path()));
+
+        // Blocking an interior cell only rebuilds its own cluster
+        long before = hpa.clusterBuilds();
+        hpa.setPassable(7, 2, false);
+        hpa.search(start, goal);
+        System.out.println("After blocking (7, 2): cost " + hpa.cost() + ", rebuilt "
+                + (hpa.clusterBuilds() - before) + " cluster(s)");
+
+        // Blocking a cell on a cluster border also rebuilds the cluster across it
+        before = hpa.clusterBuilds();
+        hpa.setPassable(3, 5, false);
+        int cost = hpa.search(start, goal);
+        System.out.println("After blocking border cell (3, 5): cost " + cost + ", rebuilt "
+                + (hpa.clusterBuilds() - before) + " cluster(s)");
+        System.out.print(map.withCell(7, 2, false).withCell(3, 5, false).render(hpa.path()));
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * Program Title: Incremental Strongly Connected Components
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Maintains the SCCs of a directed graph and a topological order of its
+ * condensation while edges are inserted one at a time, so TarjanSCC does not have to be
+ * rerun after every batch. Vertices of one SCC are joined in a UnionFind; every
+ * component keeps its outgoing and incoming component edges and a position ord[] in
+ * a topological order of the condensation (Pearce-Kelly dynamic topological sort,
+ * extended with component merging).
+ *
+ * Inserting u -> v is free when u and v share a component or ord(u) < ord(v). Otherwise
+ * only the affected region is searched: components reachable from v with position up to
+ * ord(u) (forward set F) and components reaching u with position from ord(v) (backward
+ * set B). If u was reached the edge closed a cycle and F ∩ B, the components on some
+ * v ~> u path, merge into one. The components of B, the merged one and then those of F
+ * are finally redistributed over the positions they already occupied, in that order.
+ *
+ * componentIds() and condensation() take an O(V + E) snapshot with the same
+ * conventions as TarjanSCC (ids in reverse topological order).
+ *
+ * Time Complexity: addEdge O(size of F and B with their edges) (plus a merge of the affected
+ * adjacency lists), amortised far below O(V + E); component O(α(V))
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+
+public final class IncrementalSCC {
+
+    private final int n;
+    private final UnionFind sets;
+    private int componentCount;
+    private long edgeCount;
+
+    // Indexed by component representative (the UnionFind root)
+    private final int[] ord;
+    private final int[][] out, in;
+    private final int[] outSize, inSize;
+
+    // Scratch for one insertion; marks are generation stamps so nothing is cleared
+    private final int[] forwardMark, backwardMark;
+    private int stamp;
+    private final int[] stack, forward, backward;
+    private long[] byOrder = new long[16];
+    private int[] positions = new int[16];
+
+    public IncrementalSCC(int n) {
+        this.n = n;
+        sets = new UnionFind(n);
+        componentCount = n;
+        ord = new int[n];
+        out = new int[n][];
+        in = new int[n][];
+        outSize = new int[n];
+        inSize = new int[n];
+        forwardMark = new int[n];
+        backwardMark = new int[n];
+        stack = new int[n];
+        forward = new int[n];
+        backward = new int[n];
+        for (int v = 0; v < n; v++) {
+            ord[v] = v; // no edges yet, any order is topological
+        }
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    public int componentCount() {
+        return componentCount;
+    }
+
+    // Representative vertex of v's component; changes when the component merges
+    public int component(int v) {
+        return sets.find(v);
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return sets.find(u) == sets.find(v);
+    }
+
+    // Position of v's component in the maintained topological order: if v's component can
+    // reach w's component then topologicalPosition(v) < topologicalPosition(w)
+    public int topologicalPosition(int v) {
+        return ord[sets.find(v)];
+    }
+
+    // Adds u -> v; returns true if the edge closed a cycle and merged components
+    public boolean addEdge(int u, int v) {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Edge " + u + " -> " + v + " out of range");
+        }
+        edgeCount++;
+        int cu = sets.find(u), cv = sets.find(v);
+        if (cu == cv) return false;
+        append(out, outSize, cu, cv);
+        append(in, inSize, cv, cu);
+        if (ord[cu] < ord[cv]) return false;
+
+        int lower = ord[cv], upper = ord[cu];
+        stamp++;
+        int forwardCount = search(cv, out, outSize, forwardMark, forward, lower, upper);
+        int backwardCount = search(cu, in, inSize, backwardMark, backward, lower, upper);
+        boolean cycle = forwardMark[cu] == stamp;
+
+        // Free positions: every position held by a component of F or B, ascending
+        int total = 0;
+        for (int i = 0; i < forwardCount; i++) addByOrder(total++, forward[i]);
+        for (int i = 0; i < backwardCount; i++) {
+            if (forwardMark[backward[i]] != stamp) addByOrder(total++, backward[i]);
+        }
+        Arrays.sort(byOrder, 0, total);
+        if (positions.length < total) positions = new int[Math.max(total, positions.length * 2)];
+        for (int i = 0; i < total; i++) positions[i] = (int) (byOrder[i] >>> 32);
+
+        // B \ M takes the lowest positions and F \ M the highest, each keeping its relative order;
+        // the merged component goes right after B \ M, and the positions it frees stay unused
+        int forwardOnly = 0;
+        for (int i = 0; i < forwardCount; i++) {
+            if (backwardMark[forward[i]] != stamp) forwardOnly++;
+        }
+        int next = assign(backward, backwardCount, forwardMark, positions, 0);
+        int mergedPosition = cycle ? positions[next] : -1;
+        assign(forward, forwardCount, backwardMark, positions, total - forwardOnly);
+        if (cycle) {
+            ord[merge(backwardCount)] = mergedPosition;
+        }
+        return cycle;
+    }
+
+    // Iterative DFS from start over components whose position lies in [lower, upper]
+    private int search(int start, int[][] adjacency, int[] sizes, int[] mark, int[] found, int lower, int upper) {
+        int count = 0, top = 0;
+        mark[start] = stamp;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            found[count++] = c;
+            int[] list = adjacency[c];
+            for (int i = 0; i < sizes[c]; i++) {
+                int d = sets.find(list[i]);
+                if (mark[d] != stamp && ord[d] >= lower && ord[d] <= upper) {
+                    mark[d] = stamp;
+                    stack[top++] = d;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void addByOrder(int index, int component) {
+        if (index == byOrder.length) byOrder = Arrays.copyOf(byOrder, index * 2);
+        byOrder[index] = (long) ord[component] << 32 | component;
+    }
+
+    // Gives the components of list that are not marked in otherMark the next positions, keeping their order
+    private int assign(int[] list, int count, int[] otherMark, int[] positions, int next) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (otherMark[list[i]] != stamp) addByOrder(kept++, list[i]);
+        }
+        Arrays.sort(byOrder, 0, kept);
+        for (int i = 0; i < kept; i++) {
+            ord[(int) byOrder[i]] = positions[next++];
+        }
+        return next;
+    }
+
+    // Unions every component in F ∩ B and rebuilds the root's adjacency without internal
+    // or duplicate entries. Returns the new root.
+    private int merge(int backwardCount) {
+        int first = -1, merged = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            int c = backward[i];
+            if (forwardMark[c] != stamp) continue;
+            if (first == -1) first = c;
+            else sets.union(first, c);
+            merged++;
+        }
+        componentCount -= merged - 1;
+        int root = sets.find(first);
+
+        int[] members = new int[merged];
+        int m = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            if (forwardMark[backward[i]] == stamp) members[m++] = backward[i];
+        }
+        rebuild(root, members, out, outSize);
+        rebuild(root, members, in, inSize);
+        return root;
+    }
+
+    private void rebuild(int root, int[] members, int[][] adjacency, int[] sizes) {
+        // The DFS stamps are no longer needed; a fresh stamp marks targets already kept
+        int seen = ++stamp;
+        int[] list = new int[16];
+        int size = 0;
+        for (int c : members) {
+            for (int i = 0; i < sizes[c]; i++) {
+                int d = sets.find(adjacency[c][i]);
+                if (d == root || forwardMark[d] == seen) continue;
+                forwardMark[d] = seen;
+                if (size == list.length) list = Arrays.copyOf(list, size * 2);
+                list[size++] = d;
+            }
+            if (c != root) {
+                adjacency[c] = null;
+                sizes[c] = 0;
+            }
+        }
+        adjacency[root] = list;
+        sizes[root] = size;
+    }
+
+    private static void append(int[][] adjacency, int[] sizes, int c, int d) {
+        int[] list = adjacency[c];
+        if (list == null) {
+            list = adjacency[c] = new int[4];
+        } else if (sizes[c] == list.length) {
+            list = adjacency[c] = Arrays.copyOf(list, list.length * 2);
+        }
+        list[sizes[c]++] = d;
+    }
+
+    // Snapshot: dense component ids in reverse topological order, as TarjanSCC.findSCCs
+    public int[] componentIds() {
+        int[] rootAt = new int[n];
+        Arrays.fill(rootAt, -1);
+        for (int v = 0; v < n; v++) {
+            if (sets.find(v) == v) rootAt[ord[v]] = v;
+        }
+        int[] idOfRoot = new int[n];
+        int id = componentCount;
+        for (int p = 0; p < n; p++) {
+            if (rootAt[p] != -1) idOfRoot[rootAt[p]] = --id;
+        }
+        int[] comp = new int[n];
+        for (int v = 0; v < n; v++) {
+            comp[v] = idOfRoot[sets.find(v)];
+        }
+        return comp;
+    }
+
+    // Snapshot of the condensation in the same form as TarjanSCC.condense (edge weights are 1)
+    public TarjanSCC.Condensation condensation() {
+        int[] comp = componentIds();
+        int[] src = new int[16], dst = new int[16];
+        int m = 0;
+        int[] seenBy = forwardMark;
+        for (int c = 0; c < n; c++) {
+            if (sets.find(c) != c) continue;
+            int seen = ++stamp;
+            for (int i = 0; i < outSize[c]; i++) {
+                int d = sets.find(out[c][i]);
+                if (d == c || seenBy[d] == seen) continue;
+                seenBy[d] = seen;
+                if (m == src.length) {
+                    src = Arrays.copyOf(src, m * 2);
+                    dst = Arrays.copyOf(dst, m * 2);
+                }
+                src[m] = comp[c];
+                dst[m] = comp[d];
+                m++;
+            }
+        }
+        int[] weights = new int[m];
+        Arrays.fill(weights, 1);
+        CsrGraph dag = CsrGraph.fromEdgeList(componentCount, Arrays.copyOf(src, m), Arrays.copyOf(dst, m), weights);
+        return new TarjanSCC.Condensation(comp, dag);
+    }
+
+    public static void main(String[] args) {
+        IncrementalSCC scc = new IncrementalSCC(7);
+        int[][] edges = {{0, 1}, {1, 2}, {1, 3}, {3, 4}, {4, 5}, {5, 6}, {2, 0}, {5, 3}, {6, 1}};
+        for (int[] e : edges) {
+            boolean merged = scc.addEdge(e[0], e[1]);
+            System.out.printf("add %d -> %d: %d components%s%n", e[0], e[1], scc.componentCount(),
+                    merged ? " (cycle closed, components merged)" : "");
+        }
+        TarjanSCC.Condensation condensation = scc.condensation();
+        System.out.println("Component id per vertex: " + Arrays.toString(condensation.components()));
+        System.out.println("Same components as Tarjan: "
+                + ParallelSCC.samePartition(condensation.components(), TarjanSCC.findSCCs(
+                        new CsrGraph.Builder(7).addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(1, 3, 1).addEdge(3, 4, 1)
+                                .addEdge(4, 5, 1).addEdge(5, 6, 1).addEdge(2, 0, 1).addEdge(5, 3, 1).addEdge(6, 1, 1)
+                                .build())));
+    }
+}
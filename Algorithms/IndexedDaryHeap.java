@@ -0,0 +1,168 @@
+/**
+ * Program Title: Indexed d-ary Min-Heap with Decrease-Key
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A min-priority queue over integer items 0..capacity-1 with int keys.
+ * Each item is in the heap at most once; pos[item] remembers its slot so that
+ * decreaseKey can sift it up in place instead of inserting a duplicate. The heap
+ * lives in parallel int[] arrays (items and keys in heap order), so no object is
+ * allocated per entry. A 4-ary layout keeps the tree shallow and the children of
+ * a node in one cache line, which suits Dijkstra/Prim where decreaseKey dominates.
+ *
+ * clear() only touches the items still in the heap, so one instance can be reused
+ * across many searches without an O(capacity) reset.
+ *
+ * Time Complexity: O(log_d n) insert/decreaseKey, O(d log_d n) poll, O(1) peek/contains
+ * Space Complexity: O(capacity)
+ */
+
+import java.util.Arrays;
+
+public final class IndexedDaryHeap {
+
+    private final int arity;
+    private final int[] items; // heap slot -> item
+    private final int[] keys;  // heap slot -> key of the item in that slot
+    private final int[] pos;   // item -> heap slot, or -1 if not in the heap
+    private int size;
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, 4);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Arity must be at least 2");
+        this.arity = arity;
+        items = new int[capacity];
+        keys = new int[capacity];
+        pos = new int[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int item) {
+        return pos[item] >= 0;
+    }
+
+    // Current key of an item that is in the heap
+    public int key(int item) {
+        return keys[pos[item]];
+    }
+
+    public int peek() {
+        return items[0];
+    }
+
+    public int peekKey() {
+        return keys[0];
+    }
+
+    public void insert(int item, int key) {
+        if (pos[item] >= 0) throw new IllegalStateException("Item " + item + " already in heap");
+        siftUp(size++, item, key);
+    }
+
+    public void decreaseKey(int item, int key) {
+        int slot = pos[item];
+        if (key > keys[slot]) throw new IllegalArgumentException("New key is larger than current key");
+        siftUp(slot, item, key);
+    }
+
+    /**
+     * Inserts the item, or lowers its key if it is already present with a larger key.
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int item, int key) {
+        int slot = pos[item];
+        if (slot < 0) {
+            siftUp(size++, item, key);
+            return true;
+        }
+        if (key < keys[slot]) {
+            siftUp(slot, item, key);
+            return true;
+        }
+        return false;
+    }
+
+    // Removes and returns the item with the smallest key
+    public int poll() {
+        int top = items[0];
+        pos[top] = -1;
+        int last = --size;
+        if (last > 0) {
+            siftDown(0, items[last], keys[last]);
+        }
+        return top;
+    }
+
+    // Removes all items in O(size)
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[items[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot, int item, int key) {
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            if (keys[parent] <= key) break;
+            place(slot, items[parent], keys[parent]);
+            slot = parent;
+        }
+        place(slot, item, key);
+    }
+
+    private void siftDown(int slot, int item, int key) {
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            int bestKey = keys[first];
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < bestKey) {
+                    best = c;
+                    bestKey = keys[c];
+                }
+            }
+            if (key <= bestKey) break;
+            place(slot, items[best], bestKey);
+            slot = best;
+        }
+        place(slot, item, key);
+    }
+
+    private void place(int slot, int item, int key) {
+        items[slot] = item;
+        keys[slot] = key;
+        pos[item] = slot;
+    }
+
+    public static void main(String[] args) {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6);
+        heap.insert(0, 50);
+        heap.insert(1, 20);
+        heap.insert(2, 40);
+        heap.insert(3, 10);
+        heap.insert(4, 30);
+        heap.decreaseKey(2, 5);     // item 2 jumps to the front
+        heap.insertOrDecrease(4, 35); // ignored, 35 > 30
+
+        System.out.print("Items in key order:");
+        while (!heap.isEmpty()) {
+            int key = heap.peekKey();
+            System.out.print(" " + heap.poll() + "(" + key + ")");
+        }
+        System.out.println();
+    }
+}
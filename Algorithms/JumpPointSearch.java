@@ -0,0 +1,325 @@
+/**
+ * Program Title: Jump Point Search (JPS) for Uniform-Cost Grids
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: On a uniform-cost grid, A* wastes most of its time on symmetric paths:
+ * the same straight run can be reached in many equivalent step orders, and every cell
+ * on it gets pushed through the open list. Jump Point Search (Harabor & Grastien)
+ * keeps only the cells where an optimal path may have to turn. From a node it scans
+ * ahead in a straight or diagonal line and only stops at a "jump point": the goal, or
+ * a cell with a forced neighbour (an open cell next to an obstacle that a path could
+ * only reach optimally by passing through this cell). Only jump points enter the
+ * IndexedDaryHeap, and the direction a node was reached from prunes the directions it
+ * scans next. The path cost is identical to GridAStar on the same map.
+ *
+ * Two move models are supported, matching GridAStar:
+ *   - 4-directional (cost 10 per step, like AStarSearch's HV_COST). Vertical scans also
+ *     probe sideways at every cell, the 4-connected JPS rule.
+ *   - 8-directional (diagonal cost 14) without corner cutting. A diagonal scan
+ *     stops where either of its straight component scans finds a jump point.
+ *
+ * Scratch arrays live in a reusable Context, as in GridAStar. path() expands the
+ * jump points back into the full cell-by-cell path.
+ *
+ * Time Complexity: O(J log J + S) per query, with J jump points expanded and S cells scanned
+ * Space Complexity: O(rows * cols) per context
+ */
+
+import java.util.Arrays;
+
+public final class JumpPointSearch {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int MAX_GENERATION = 63;
+
+    private final GridMap map;
+    private final boolean diagonal;
+
+    public JumpPointSearch(GridMap map) {
+        this(map, false);
+    }
+
+    public JumpPointSearch(GridMap map, boolean diagonal) {
+        this.map = map;
+        this.diagonal = diagonal;
+    }
+
+    /**
+     * Same inputs as AStarSearch: a rows x cols grid, start and end cells and the
+     * {row, col} pairs of blocked cells. 4-directional moves.
+     * @return the path as row-major cell ids from start to end, or an empty array
+     */
+    public static int[] findPath(int rows, int cols, int startRow, int startCol, int endRow, int endCol, int[][] blocks) {
+        GridMap map = GridMap.fromBlocks(rows, cols, blocks);
+        Context context = new Context(new JumpPointSearch(map));
+        context.search(map.cell(startRow, startCol), map.cell(endRow, endCol));
+        return context.path();
+    }
+
+    public GridMap map() {
+        return map;
+    }
+
+    public boolean isDiagonal() {
+        return diagonal;
+    }
+
+    /**
+     * Per-thread search state. After search() the context is the result: cost(),
+     * path(), expandedCount() and scannedCount() describe the last query.
+     */
+    public static final class Context {
+        private final JumpPointSearch engine;
+        private final byte[] open;
+        private final int stride;
+        private final int[] g;
+        private final byte[] state;  // 2 * generation = open, 2 * generation + 1 = closed
+        private final int[] parent;  // previous jump point (padded index)
+        private final IndexedDaryHeap heap;
+        private int generation;
+        private int start = -1, goal = -1, goalRow, goalCol;
+        private int cost = UNREACHABLE, expandedCount;
+        private long scannedCount;
+
+        public Context(JumpPointSearch engine) {
+            this.engine = engine;
+            open = engine.map.open;
+            stride = engine.map.stride;
+            int size = open.length;
+            g = new int[size];
+            state = new byte[size];
+            parent = new int[size];
+            heap = new IndexedDaryHeap(size);
+        }
+
+        /**
+         * Finds a shortest path between two row-major cell ids.
+         * @return the path cost (10 per straight step, 14 per diagonal), or UNREACHABLE
+         */
+        public int search(int startCell, int goalCell) {
+            GridMap map = engine.map;
+            heap.clear();
+            expandedCount = 0;
+            scannedCount = 0;
+            cost = UNREACHABLE;
+            if (++generation > MAX_GENERATION) {
+                Arrays.fill(state, (byte) 0);
+                generation = 1;
+            }
+            if (!map.isPassable(startCell) || !map.isPassable(goalCell)) {
+                start = goal = -1;
+                return UNREACHABLE;
+            }
+            start = map.padded(startCell);
+            goal = map.padded(goalCell);
+            goalRow = goal / stride;
+            goalCol = goal - goalRow * stride;
+            byte openMark = (byte) (2 * generation);
+            byte closedMark = (byte) (2 * generation + 1);
+
+            g[start] = 0;
+            parent[start] = -1;
+            state[start] = openMark;
+            heap.insert(start, heuristic(start));
+
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                state[u] = closedMark;
+                expandedCount++;
+                if (u == goal) {
+                    cost = g[u];
+                    return cost;
+                }
+
+                if (u == start) {
+                    // No direction yet: scan every way out of the start cell
+                    for (int dr = -1; dr <= 1; dr++) {
+                        for (int dc = -1; dc <= 1; dc++) {
+                            if ((dr != 0 || dc != 0) && (engine.diagonal || dr == 0 || dc == 0)) {
+                                jumpAndRelax(u, dr, dc, openMark, closedMark);
+                            }
+                        }
+                    }
+                    continue;
+                }
+
+                int p = parent[u];
+                int uRow = u / stride, pRow = p / stride;
+                int dr = Integer.signum(uRow - pRow);
+                int dc = Integer.signum((u - uRow * stride) - (p - pRow * stride));
+                if (dr != 0 && dc != 0) {
+                    // Diagonal arrival: both straight components and the diagonal itself
+                    jumpAndRelax(u, 0, dc, openMark, closedMark);
+                    jumpAndRelax(u, dr, 0, openMark, closedMark);
+                    jumpAndRelax(u, dr, dc, openMark, closedMark);
+                } else {
+                    // Straight arrival: keep going, and turn towards either side (forced neighbours)
+                    jumpAndRelax(u, dr, dc, openMark, closedMark);
+                    jumpAndRelax(u, dc, dr, openMark, closedMark);
+                    jumpAndRelax(u, -dc, -dr, openMark, closedMark);
+                    if (engine.diagonal) {
+                        jumpAndRelax(u, dr + dc, dc + dr, openMark, closedMark);
+                        jumpAndRelax(u, dr - dc, dc - dr, openMark, closedMark);
+                    }
+                }
+            }
+            return UNREACHABLE;
+        }
+
+        // Scans from u in direction (dr, dc) and opens or improves the jump point found, if any
+        private void jumpAndRelax(int u, int dr, int dc, byte openMark, byte closedMark) {
+            int step = dr * stride + dc;
+            int jp;
+            if (!engine.diagonal) {
+                jp = jump4(u, step, dr != 0);
+            } else if (dr != 0 && dc != 0) {
+                jp = jumpDiagonal(u, dr, dc);
+            } else {
+                jp = jumpStraight(u, step, dr != 0);
+            }
+            if (jp < 0 || state[jp] == closedMark) return;
+
+            int steps = (jp - u) / step;
+            int ng = g[u] + steps * (dr != 0 && dc != 0 ? GridAStar.DIAGONAL_COST : GridAStar.STRAIGHT_COST);
+            if (state[jp] != openMark) {
+                state[jp] = openMark;
+                g[jp] = ng;
+                parent[jp] = u;
+                heap.insert(jp, ng + heuristic(jp));
+            } else if (ng < g[jp]) {
+                heap.decreaseKey(jp, heap.key(jp) - g[jp] + ng);
+                g[jp] = ng;
+                parent[jp] = u;
+            }
+        }
+
+        // 4-connected scan; a vertical scan also stops where a sideways scan finds a jump point
+        private int jump4(int from, int step, boolean vertical) {
+            int x = from;
+            while (true) {
+                x += step;
+                scannedCount++;
+                if (open[x] == 0) return -1;
+                if (x == goal) return x;
+                if (vertical) {
+                    if ((open[x - 1] != 0 && open[x - 1 - step] == 0) || (open[x + 1] != 0 && open[x + 1 - step] == 0)) return x;
+                    if (jump4(x, 1, false) >= 0 || jump4(x, -1, false) >= 0) return x;
+                } else {
+                    if ((open[x - stride] != 0 && open[x - stride - step] == 0)
+                            || (open[x + stride] != 0 && open[x + stride - step] == 0)) return x;
+                }
+            }
+        }
+
+        // 8-connected straight scan: stops next to an obstacle that opens a forced neighbour
+        private int jumpStraight(int from, int step, boolean vertical) {
+            int side = vertical ? 1 : stride;
+            int x = from;
+            while (true) {
+                x += step;
+                scannedCount++;
+                if (open[x] == 0) return -1;
+                if (x == goal) return x;
+                if ((open[x - side] != 0 && open[x - side - step] == 0) || (open[x + side] != 0 && open[x + side - step] == 0)) {
+                    return x;
+                }
+            }
+        }
+
+        // 8-connected diagonal scan without corner cutting
+        private int jumpDiagonal(int from, int dr, int dc) {
+            int vertical = dr * stride;
+            int x = from;
+            while (true) {
+                if (open[x + dc] == 0 || open[x + vertical] == 0) return -1;
+                x += vertical + dc;
+                scannedCount++;
+                if (open[x] == 0) return -1;
+                if (x == goal) return x;
+                if (jumpStraight(x, dc, false) >= 0 || jumpStraight(x, vertical, true) >= 0) return x;
+            }
+        }
+
+        private int heuristic(int index) {
+            int row = index / stride;
+            int dr = Math.abs(row - goalRow);
+            int dc = Math.abs(index - row * stride - goalCol);
+            return engine.diagonal
+                    ? GridAStar.STRAIGHT_COST * Math.max(dr, dc) + (GridAStar.DIAGONAL_COST - GridAStar.STRAIGHT_COST) * Math.min(dr, dc)
+                    : GridAStar.STRAIGHT_COST * (dr + dc);
+        }
+
+        // Cost of the last path found, or UNREACHABLE
+        public int cost() {
+            return cost;
+        }
+
+        // Number of jump points taken off the open list by the last query
+        public int expandedCount() {
+            return expandedCount;
+        }
+
+        // Number of cells stepped over while scanning for jump points in the last query
+        public long scannedCount() {
+            return scannedCount;
+        }
+
+        // Jump points of the last path, start first, as row-major cell ids
+        public int[] jumpPoints() {
+            if (cost == UNREACHABLE) return new int[0];
+            int length = 0;
+            for (int v = goal; v != -1; v = parent[v]) length++;
+            int[] points = new int[length];
+            for (int v = goal, i = length - 1; i >= 0; v = parent[v], i--) {
+                points[i] = engine.map.unpadded(v);
+            }
+            return points;
+        }
+
+        // Every cell of the last path from start to goal; empty if none was found
+        public int[] path() {
+            int[] points = jumpPoints();
+            if (points.length == 0) return points;
+            GridMap map = engine.map;
+            int length = 1;
+            for (int i = 1; i < points.length; i++) {
+                length += Math.max(Math.abs(map.row(points[i]) - map.row(points[i - 1])),
+                        Math.abs(map.col(points[i]) - map.col(points[i - 1])));
+            }
+            int[] path = new int[length];
+            path[0] = points[0];
+            int at = 1;
+            for (int i = 1; i < points.length; i++) {
+                int r = map.row(points[i - 1]), c = map.col(points[i - 1]);
+                int dr = Integer.signum(map.row(points[i]) - r), dc = Integer.signum(map.col(points[i]) - c);
+                int step = dr * map.cols() + dc;
+                for (int cell = points[i - 1]; cell != points[i]; ) {
+                    cell += step;
+                    path[at++] = cell;
+                }
+            }
+            return path;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Same inputs as AStarSearch.main
+        int rows = 10, cols = 10;
+        int[][] blocks = {{1, 2}, {1, 3}, {1, 4}, {2, 4}, {3, 4}, {4, 4}, {5, 4}, {5, 3}, {5, 2}, {5, 1}, {7, 6}, {7, 7}};
+        int[] path = JumpPointSearch.findPath(rows, cols, 0, 0, 7, 8, blocks);
+        GridMap map = GridMap.fromBlocks(rows, cols, blocks);
+        System.out.println("4-directional JPS path, " + (path.length - 1) + " steps:");
+        System.out.print(map.render(path));
+
+        for (boolean diagonal : new boolean[]{false, true}) {
+            JumpPointSearch.Context jps = new JumpPointSearch.Context(new JumpPointSearch(map, diagonal));
+            GridAStar.Context astar = new GridAStar.Context(new GridAStar(map, diagonal, 1.0));
+            jps.search(map.cell(0, 0), map.cell(7, 8));
+            astar.search(map.cell(0, 0), map.cell(7, 8));
+            System.out.printf("%s: JPS cost %d with %d expansions (jump points %s), A* cost %d with %d expansions%n",
+                    diagonal ? "8-directional" : "4-directional", jps.cost(), jps.expandedCount(),
+                    Arrays.toString(jps.jumpPoints()), astar.cost(), astar.expandedCount());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Program Title: Jump Point Search vs A* Grid Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Builds three kinds of square maps: an open map without obstacles, a map
+ * with randomly scattered obstacles, and a maze with 1-cell corridors and some knocked-out
+ * walls. On each it answers the same random queries between passable cells with GridAStar
+ * and JumpPointSearch, in 4- and 8-directional mode. For every engine it reports the wall
+ * time per query, the nodes expanded (taken off the open list) per query and, for JPS, the
+ * cells scanned while jumping. It also checks that both engines return the same path costs.
+ *
+ * Usage: java JumpPointSearchBenchmark [side] [queries]
+ * Time Complexity: O(queries * side^2 log side) in the worst case
+ * Space Complexity: O(side^2)
+ */
+
+import java.util.SplittableRandom;
+
+public class JumpPointSearchBenchmark {
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        run("open", GridMap.random(side, side, 0.0, 1), queries);
+        run("random 20%", GridMap.random(side, side, 0.2, 2), queries);
+        run("maze", GridMap.maze(side, side, 0.1, 3), queries);
+    }
+
+    static void run(String name, GridMap map, int queries) {
+        System.out.println(name + " map " + map.rows() + " x " + map.cols() + ", " + map.passableCount() + " passable cells");
+        SplittableRandom random = new SplittableRandom(17);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            sources[i] = randomPassable(map, random);
+            targets[i] = randomPassable(map, random);
+        }
+
+        for (boolean diagonal : new boolean[]{false, true}) {
+            GridAStar.Context astar = new GridAStar.Context(new GridAStar(map, diagonal, 1.0));
+            JumpPointSearch.Context jps = new JumpPointSearch.Context(new JumpPointSearch(map, diagonal));
+            String moves = diagonal ? "8-dir" : "4-dir";
+
+            int[] expected = new int[queries];
+            long expanded = 0;
+            // First pass warms up the JIT; the second one is measured
+            for (int pass = 0; pass < 2; pass++) {
+                expanded = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < queries; i++) {
+                    expected[i] = astar.search(sources[i], targets[i]);
+                    expanded += astar.expandedCount();
+                }
+                if (pass == 1) report("A*", moves, System.nanoTime() - start, expanded, -1, queries, true);
+            }
+
+            for (int pass = 0; pass < 2; pass++) {
+                expanded = 0;
+                long scanned = 0;
+                boolean correct = true;
+                long start = System.nanoTime();
+                for (int i = 0; i < queries; i++) {
+                    correct &= jps.search(sources[i], targets[i]) == expected[i];
+                    expanded += jps.expandedCount();
+                    scanned += jps.scannedCount();
+                }
+                if (pass == 1) report("JPS", moves, System.nanoTime() - start, expanded, scanned, queries, correct);
+            }
+        }
+    }
+
+    static int randomPassable(GridMap map, SplittableRandom random) {
+        while (true) {
+            int cell = random.nextInt(map.cellCount());
+            if (map.isPassable(cell)) return cell;
+        }
+    }
+
+    static void report(String engine, String moves, long nanos, long expanded, long scanned, int queries, boolean correct) {
+        System.out.printf("  %-4s %s %10.1f us/query %10d expanded/query %12s scanned/query  %s%n",
+                engine, moves, nanos / 1e3 / queries, expanded / queries,
+                scanned < 0 ? "-" : Long.toString(scanned / queries), correct ? "same costs" : "COST MISMATCH");
+    }
+}
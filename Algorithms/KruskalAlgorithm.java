@@ -6,132 +6,134 @@
  * Description: Finds the Minimum Spanning Tree (MST) of a weighted, undirected graph 
  * using Kruskal's greedy algorithm, optimized with Disjoint Set Union (DSU) by rank and path compression.
  *
+ * Edges are stored as three parallel int arrays (src[], dst[], w[]) rather than Edge
+ * objects. Instead of sorting the edges, ParallelRadixSort computes the permutation that
+ * visits them in weight order, and UnionFind decides which ones join two trees. The
+ * result lists the chosen edge indices and a long total weight, and is a minimum
+ * spanning forest if the graph is disconnected.
+ *
  * Language: Java
  *
- * Time Complexity: O(E log E) or O(E log V)
+ * Time Complexity: O(E log E) or O(E log V); O(E α(V)) with the radix sort
  * Space Complexity: O(V + E)
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
-// Represents an edge in the graph
-class Edge implements Comparable<Edge> 
+public class KruskalAlgorithm 
 {
-    int src, dest, weight;
 
-    public Edge(int src, int dest, int weight) 
+    // Represents an edge in the graph
+    // Nested so that this program compiles together with PrimsAlgorithm, which has its own Edge
+    static class Edge implements Comparable<Edge> 
     {
-        this.src = src;
-        this.dest = dest;
-        this.weight = weight;
-    }
+        int src, dest, weight;
 
-    // Used for sorting edges based on their weight
-    @Override
-    public int compareTo(Edge otherEdge) 
-    {
-        return this.weight - otherEdge.weight;
-    }
+        public Edge(int src, int dest, int weight) 
+        {
+            this.src = src;
+            this.dest = dest;
+            this.weight = weight;
+        }
 
-    @Override
-    public String toString() 
-    {
-        return "[" + src + " - " + dest + ", weight=" + weight + "]";
-    }
-}
+        // Used for sorting edges based on their weight
+        @Override
+        public int compareTo(Edge otherEdge) 
+        {
+            return Integer.compare(this.weight, otherEdge.weight);
+        }
 
-public class KruskalAlgorithm 
-{
+        @Override
+        public String toString() 
+        {
+            return "[" + src + " - " + dest + ", weight=" + weight + "]";
+        }
+    }
 
     private int V; // Number of vertices
-    private List<Edge> edges; // List of all edges in the graph
+    private int E; // Number of edges added so far
+    // Edge i goes from src[i] to dst[i] with weight w[i]
+    private int[] src, dst, w;
 
     public KruskalAlgorithm(int v) 
     {
         V = v;
-        edges = new ArrayList<>();
+        src = new int[16];
+        dst = new int[16];
+        w = new int[16];
     }
 
-    // Function to add an edge to the graph
+    // Function to add an edge to the graph; edges are numbered in the order they are added
     public void addEdge(int src, int dest, int weight) 
     {
-        edges.add(new Edge(src, dest, weight));
+        if (E == this.src.length) 
+        {
+            int capacity = E * 2;
+            this.src = Arrays.copyOf(this.src, capacity);
+            dst = Arrays.copyOf(dst, capacity);
+            w = Arrays.copyOf(w, capacity);
+        }
+        this.src[E] = src;
+        dst[E] = dest;
+        w[E] = weight;
+        E++;
     }
 
-    // Disjoint Set Union (DSU) find operation
-    // Finds the representative (or root) of the set containing element i
-    private int find(int[] parent, int i) 
+    // Chosen edges (indices into the edge arrays, in weight order) and their total weight
+    public static final class Result 
     {
-        if (parent[i] == i) return i;
-        
-        // Path compression for efficiency
-        return parent[i] = find(parent, parent[i]);
-    }
+        private final int[] edges;
+        private final long totalWeight;
 
-    // Disjoint Set Union (DSU) union operation
-    // Unites the sets that contain x and y
-    private void union(int[] parent, int[] rank, int x, int y) 
-    {
-        int rootX = find(parent, x);
-        int rootY = find(parent, y);
+        Result(int[] edges, long totalWeight) 
+        {
+            this.edges = edges;
+            this.totalWeight = totalWeight;
+        }
 
-        // Union by rank for efficiency
-        if (rank[rootX] < rank[rootY]) parent[rootX] = rootY;
-        else if (rank[rootY] < rank[rootX]) parent[rootY] = rootX;
-        else 
+        public int[] edges() 
         {
-            parent[rootY] = rootX;
-            rank[rootX]++;
+            return edges;
+        }
+
+        public long totalWeight() 
+        {
+            return totalWeight;
         }
     }
 
     // The main function to construct MST using Kruskal's algorithm
-    public void findMST() 
+    public Result findMST() 
     {
-        List<Edge> resultMST = new ArrayList<>();
-        int edgeCount = 0;
-        int i = 0;
-
-        // Step 1: Sort all the edges in non-decreasing order of their weight.
-        Collections.sort(edges);
+        return findMST(V, src, dst, w, E, ForkJoinPool.commonPool());
+    }
 
-        // Allocate memory for creating V subsets for DSU
-        int[] parent = new int[V];
-        int[] rank = new int[V];
-        for (int j = 0; j < V; j++) 
-        {
-            parent[j] = j; // Initially, each vertex is in its own set
-            rank[j] = 0;
-        }
+    // Kruskal over the first m edges of the given arrays; the arrays are not modified
+    public static Result findMST(int V, int[] src, int[] dst, int[] w, int m, ForkJoinPool pool) 
+    {
+        // Step 1: Visit the edges in non-decreasing order of their weight.
+        int[] order = ParallelRadixSort.sortedOrder(w, m, pool);
 
-        // Step 2: Iterate through sorted edges
-        // The number of edges in MST is V-1
-        while (edgeCount < V - 1 && i < edges.size()) 
+        // Step 2: Take every edge that joins two different trees
+        // The number of edges in MST is at most V-1
+        UnionFind sets = new UnionFind(V);
+        int[] chosen = new int[Math.max(V - 1, 0)];
+        int edgeCount = 0;
+        long totalWeight = 0;
+        for (int i = 0; i < m && edgeCount < V - 1; i++) 
         {
-            Edge nextEdge = edges.get(i++);
-
-            int rootSrc = find(parent, nextEdge.src);
-            int rootDest = find(parent, nextEdge.dest);
+            int e = order[i];
 
             // Step 3: If including this edge doesn't cause a cycle, include it.
             // A cycle is formed if both vertices of an edge are in the same set.
-            if (rootSrc != rootDest) 
+            if (sets.union(src[e], dst[e])) 
             {
-                resultMST.add(nextEdge);
-                union(parent, rank, rootSrc, rootDest);
-                edgeCount++;
+                chosen[edgeCount++] = e;
+                totalWeight += w[e];
             }
         }
-
-        // Print the resulting MST
-        System.out.println("Edges in the Minimum Spanning Tree:");
-        int totalWeight = 0;
-        for (Edge edge : resultMST) 
-        {
-            System.out.println(edge);
-            totalWeight += edge.weight;
-        }
-        System.out.println("Total weight of MST: " + totalWeight);
+        return new Result(Arrays.copyOf(chosen, edgeCount), totalWeight);
     }
 
     public static void main(String[] args) 
@@ -148,6 +150,20 @@ public class KruskalAlgorithm
         graph.addEdge(2, 3, 4);
 
         // Function call to find the MST
-        graph.findMST();
+        Result mst = graph.findMST();
+
+        // Print the resulting MST
+        System.out.println("Edges in the Minimum Spanning Tree:");
+        for (int e : mst.edges()) 
+        {
+            System.out.println(new Edge(graph.src[e], graph.dst[e], graph.w[e]));
+        }
+        System.out.println("Total weight of MST: " + mst.totalWeight());
+
+        // Weights near Integer.MAX_VALUE: the long total no longer overflows
+        KruskalAlgorithm heavy = new KruskalAlgorithm(3);
+        heavy.addEdge(0, 1, Integer.MAX_VALUE);
+        heavy.addEdge(1, 2, Integer.MAX_VALUE);
+        System.out.println("Total weight of heavy MST: " + heavy.findMST().totalWeight());
     }
 }
@@ -0,0 +1,100 @@
+/**
+ * Program Title: Minimum Spanning Tree Engines
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: One entry point for the MST implementations in this folder, all working
+ * on the same struct-of-arrays edge list (edge i joins src[i] and dst[i] with weight
+ * w[i]) and all returning the chosen edge indices plus a long total weight:
+ *   KRUSKAL        - KruskalAlgorithm: radix-sorted permutation + UnionFind
+ *   FILTER_KRUSKAL - FilterKruskal: quicksort-style partitioning that filters out
+ *                    edges inside one component before they are ever sorted
+ *   BORUVKA        - ParallelBoruvka: parallel rounds on a ForkJoinPool
+ *   PRIM           - PrimsAlgorithm.primForest (indexed heap) on a CSR copy of the edges
+ * choose() picks an engine from the graph density. In MinimumSpanningTreeBenchmark
+ * runs, Kruskal's linear-time radix sort won on sparse graphs and Filter-Kruskal won
+ * once most edges could be filtered out. Borůvka and Prim (which also pays for the
+ * CSR copy) only pay off when their inputs are already at hand or many cores are free,
+ * so they are never picked automatically.
+ *
+ * Time Complexity: see the individual engines (O(E log V) or better)
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public final class MinimumSpanningTree {
+
+    public enum Engine { KRUSKAL, FILTER_KRUSKAL, BORUVKA, PRIM }
+
+    // Average degree from which Filter-Kruskal beats plain Kruskal
+    private static final long FILTER_DEGREE = 32;
+
+    private MinimumSpanningTree() {
+    }
+
+    public static KruskalAlgorithm.Result compute(int V, int[] src, int[] dst, int[] w, int m) {
+        return compute(V, src, dst, w, m, choose(V, m), ForkJoinPool.commonPool());
+    }
+
+    public static KruskalAlgorithm.Result compute(int V, int[] src, int[] dst, int[] w, int m,
+                                                  Engine engine, ForkJoinPool pool) {
+        switch (engine) {
+            case KRUSKAL:
+                return KruskalAlgorithm.findMST(V, src, dst, w, m, pool);
+            case FILTER_KRUSKAL:
+                return FilterKruskal.findMST(V, src, dst, w, m);
+            case BORUVKA:
+                return ParallelBoruvka.findMST(V, src, dst, w, m, pool);
+            default:
+                return prim(V, src, dst, w, m);
+        }
+    }
+
+    // Sparse graphs: Kruskal; denser graphs: Filter-Kruskal
+    public static Engine choose(int V, long m) {
+        return V > 0 && 2 * m / V >= FILTER_DEGREE ? Engine.FILTER_KRUSKAL : Engine.KRUSKAL;
+    }
+
+    // Prim needs adjacency lists: lay the edges out as an undirected CsrGraph and map
+    // the CSR slot of every tree edge back to its edge index
+    private static KruskalAlgorithm.Result prim(int V, int[] src, int[] dst, int[] w, int m) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, 2 * m);
+        for (int i = 0; i < m; i++) {
+            builder.addUndirectedEdge(src[i], dst[i], w[i]);
+        }
+        CsrGraph graph = builder.build();
+
+        // CsrGraph orders arcs with a stable counting sort on the source, so replaying it
+        // over the arcs in insertion order (src -> dst, then dst -> src) gives each slot's edge
+        int[] next = new int[V];
+        for (int v = 0; v < V; v++) next[v] = graph.begin(v);
+        int[] edgeOfSlot = new int[2 * m];
+        for (int i = 0; i < m; i++) {
+            edgeOfSlot[next[src[i]]++] = i;
+            edgeOfSlot[next[dst[i]]++] = i;
+        }
+
+        PrimsAlgorithm.Forest forest = PrimsAlgorithm.primForest(graph);
+        int[] parentSlot = forest.parentSlot();
+        int[] edges = new int[V];
+        int count = 0;
+        for (int v = 0; v < V; v++) {
+            if (parentSlot[v] >= 0) edges[count++] = edgeOfSlot[parentSlot[v]];
+        }
+        return new KruskalAlgorithm.Result(Arrays.copyOf(edges, count), forest.totalWeight());
+    }
+
+    public static void main(String[] args) {
+        // Same graph as KruskalAlgorithm.main
+        int[] src = {0, 0, 0, 1, 2};
+        int[] dst = {1, 2, 3, 3, 3};
+        int[] w = {10, 6, 5, 15, 4};
+        for (Engine engine : Engine.values()) {
+            KruskalAlgorithm.Result mst = compute(4, src, dst, w, src.length, engine, ForkJoinPool.commonPool());
+            System.out.printf("%-15s edges %s, total weight %d%n", engine, Arrays.toString(mst.edges()), mst.totalWeight());
+        }
+        System.out.println("Engine chosen for this graph: " + choose(4, src.length));
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Program Title: Minimum Spanning Tree Engine Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Runs all four MinimumSpanningTree engines (Kruskal, Filter-Kruskal,
+ * parallel Borůvka and Prim) on random connected graphs with the same number of edges
+ * but different densities, from very sparse to dense. For every graph it reports the
+ * best time of each engine, checks that all engines agree on the total weight and the
+ * number of tree edges, and prints the engine that choose() would pick.
+ *
+ * Usage: java MinimumSpanningTreeBenchmark [edges] [averageDegree ...]
+ * Time Complexity: O(runs * E log V) per graph
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class MinimumSpanningTreeBenchmark {
+
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) {
+        int m = args.length > 0 ? Integer.parseInt(args[0]) : 8_000_000;
+        int[] degrees = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[] {4, 16, 64, 256};
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        System.out.println("Edges: " + m + ", threads: " + pool.getParallelism());
+
+        for (int degree : degrees) {
+            int n = Math.max(2, 2 * m / degree);
+            int[] src = new int[m], dst = new int[m], w = new int[m];
+            randomConnectedGraph(n, src, dst, w, 42);
+            System.out.printf("%nV = %d, average degree %d (choose() picks %s)%n",
+                    n, degree, MinimumSpanningTree.choose(n, m));
+
+            KruskalAlgorithm.Result reference = null;
+            for (MinimumSpanningTree.Engine engine : MinimumSpanningTree.Engine.values()) {
+                KruskalAlgorithm.Result[] last = new KruskalAlgorithm.Result[1];
+                long best = bestOf(() -> last[0] = MinimumSpanningTree.compute(n, src, dst, w, m, engine, pool));
+                if (reference == null) reference = last[0];
+                boolean agrees = last[0].totalWeight() == reference.totalWeight()
+                        && last[0].edges().length == reference.edges().length;
+                System.out.printf("  %-15s %9.1f ms  total %d  %s%n", engine, best / 1e6, last[0].totalWeight(),
+                        agrees ? "ok" : "DIFFERENT FROM KRUSKAL");
+            }
+        }
+    }
+
+    // Edge i < n - 1 links vertex i + 1 to an earlier vertex so the graph is connected; the rest are random
+    private static void randomConnectedGraph(int n, int[] src, int[] dst, int[] w, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < src.length; i++) {
+            if (i < n - 1) {
+                dst[i] = i + 1;
+                src[i] = random.nextInt(i + 1);
+            } else {
+                src[i] = random.nextInt(n);
+                dst[i] = random.nextInt(n);
+            }
+            w[i] = 1 + random.nextInt(1_000_000);
+        }
+    }
+
+    // Best wall time in nanoseconds over MEASURED_RUNS, after WARMUP_RUNS unmeasured runs
+    private static long bestOf(Runnable run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
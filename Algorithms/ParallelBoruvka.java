@@ -0,0 +1,150 @@
+/**
+ * Program Title: Parallel Borůvka Minimum Spanning Forest
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Borůvka's algorithm run in parallel rounds on a ForkJoinPool. In every
+ * round:
+ *   1. every live edge is checked in parallel. An edge whose endpoints are already
+ *      in one component dies. Otherwise it offers itself as the cheapest edge of both
+ *      endpoint components through an atomic minimum on an AtomicLongArray. Keys
+ *      are (weight << 32 | edge index), so ties are broken consistently.
+ *   2. every component's cheapest edge is added in parallel through the lock-free
+ *      ConcurrentUnionFind. An edge picked by both of its components is only
+ *      counted by the union that succeeds.
+ *   3. dead edges are dropped from the live list.
+ * With that strict total order the picked edges never form a cycle. Each round at
+ * least halves the number of components, so there are at most log2 V rounds.
+ *
+ * Time Complexity: O(E log V) work, O((E / p) log V) time with p threads
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class ParallelBoruvka {
+
+    private static final int LEAF = 4096;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private ParallelBoruvka() {
+    }
+
+    public static KruskalAlgorithm.Result findMST(int V, int[] src, int[] dst, int[] w, int m) {
+        return findMST(V, src, dst, w, m, ForkJoinPool.commonPool());
+    }
+
+    // Minimum spanning forest of the first m edges; the arrays are not modified
+    public static KruskalAlgorithm.Result findMST(int V, int[] src, int[] dst, int[] w, int m, ForkJoinPool pool) {
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(V);
+        AtomicLongArray cheapest = new AtomicLongArray(V);
+        int[] live = new int[m];
+        for (int i = 0; i < m; i++) live[i] = i;
+        int[] chosen = new int[Math.max(V - 1, 0)];
+        AtomicInteger count = new AtomicInteger();
+        int liveCount = m;
+
+        forRange(pool, V, (from, to) -> {
+            for (int c = from; c < to; c++) cheapest.set(c, NONE);
+        });
+        while (liveCount > 0) {
+            int edges = liveCount;
+
+            // 1. Cheapest outgoing edge per component; edges inside a component are marked dead (-1)
+            forRange(pool, edges, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int e = live[i];
+                    int a = sets.find(src[e]), b = sets.find(dst[e]);
+                    if (a == b) {
+                        live[i] = -1;
+                        continue;
+                    }
+                    long key = (long) w[e] << 32 | e;
+                    lowerTo(cheapest, a, key);
+                    lowerTo(cheapest, b, key);
+                }
+            });
+
+            // 2. Every component adds its cheapest edge and resets its slot for the next round
+            forRange(pool, V, (from, to) -> {
+                for (int c = from; c < to; c++) {
+                    long key = cheapest.get(c);
+                    if (key == NONE) continue;
+                    cheapest.set(c, NONE);
+                    int e = (int) key;
+                    if (sets.union(src[e], dst[e])) {
+                        chosen[count.getAndIncrement()] = e;
+                    }
+                }
+            });
+
+            // 3. Drop the dead edges
+            int kept = 0;
+            for (int i = 0; i < edges; i++) {
+                if (live[i] >= 0) live[kept++] = live[i];
+            }
+            liveCount = kept;
+        }
+
+        int[] result = Arrays.copyOf(chosen, count.get());
+        long totalWeight = 0;
+        for (int e : result) totalWeight += w[e];
+        return new KruskalAlgorithm.Result(result, totalWeight);
+    }
+
+    private static void lowerTo(AtomicLongArray cheapest, int c, long key) {
+        long current = cheapest.get(c);
+        while (key < current) {
+            if (cheapest.compareAndSet(c, current, key)) return;
+            current = cheapest.get(c);
+        }
+    }
+
+    // Body of a parallel loop over the index range [from, to)
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private static void forRange(ForkJoinPool pool, int size, RangeBody body) {
+        if (size <= LEAF) {
+            body.run(0, size);
+        } else {
+            pool.invoke(new RangeTask(body, 0, size));
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from, to;
+
+        RangeTask(RangeBody body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(body, from, mid), new RangeTask(body, mid, to));
+            } else {
+                body.run(from, to);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // Same graph as KruskalAlgorithm.main
+        int[] src = {0, 0, 0, 1, 2};
+        int[] dst = {1, 2, 3, 3, 3};
+        int[] w = {10, 6, 5, 15, 4};
+        KruskalAlgorithm.Result mst = findMST(4, src, dst, w, src.length);
+        System.out.println("MST edge indices: " + Arrays.toString(mst.edges()));
+        System.out.println("Total weight of MST: " + mst.totalWeight());
+    }
+}
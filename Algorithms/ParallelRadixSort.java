@@ -0,0 +1,144 @@
+/**
+ * Program Title: Parallel LSD Radix Sort (Sorted Permutation)
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Computes the permutation that sorts an int key array, without moving
+ * the keys themselves: order[0] is the index of the smallest key, and equal keys keep
+ * their original index order (the sort is stable). This is what struct-of-arrays
+ * callers such as KruskalAlgorithm need: they can walk src[], dst[] and w[] in weight
+ * order without building or comparing edge objects.
+ *
+ * Keys are processed least-significant digit first in three passes of 11 bits. The sign bit
+ * is flipped so negative keys sort first. Each pass splits the array into one block per
+ * task on a ForkJoinPool: every block builds a histogram of its digits, a prefix sum
+ * over (digit, block) gives every block its own output offsets, and every block then
+ * scatters its elements independently. A pass is skipped when all keys share that
+ * digit, e.g. the top digit when all weights are below 2^22.
+ *
+ * Time Complexity: O(n) per pass, at most 3 passes; O(n / p) with p threads
+ * Space Complexity: O(n) (keys and indices in two buffers)
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class ParallelRadixSort {
+
+    private static final int DIGIT_BITS = 11;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int MASK = RADIX - 1;
+    // Below this size a single block is used
+    private static final int MIN_BLOCK = 1 << 16;
+
+    private ParallelRadixSort() {
+    }
+
+    public static int[] sortedOrder(int[] keys) {
+        return sortedOrder(keys, keys.length, ForkJoinPool.commonPool());
+    }
+
+    // Stable sorting permutation of keys[0 .. length)
+    public static int[] sortedOrder(int[] keys, int length, ForkJoinPool pool) {
+        int blocks = (int) Math.max(1, Math.min(pool.getParallelism() * 4L, length / MIN_BLOCK));
+        int blockSize = (length + blocks - 1) / Math.max(blocks, 1);
+
+        int[] key = new int[length];
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            key[i] = keys[i] ^ Integer.MIN_VALUE; // signed order becomes unsigned order
+            order[i] = i;
+        }
+        int[] keyOut = new int[length];
+        int[] orderOut = new int[length];
+        int[][] counts = new int[blocks][RADIX];
+
+        for (int shift = 0; shift < 32; shift += DIGIT_BITS) {
+            int s = shift;
+            int[] inKey = key, inOrder = order, outKey = keyOut, outOrder = orderOut;
+
+            // 1. Per-block histograms
+            forBlocks(pool, blocks, b -> {
+                int[] count = counts[b];
+                Arrays.fill(count, 0);
+                for (int i = b * blockSize, end = Math.min(length, i + blockSize); i < end; i++) {
+                    count[(inKey[i] >>> s) & MASK]++;
+                }
+            });
+
+            // 2. Exclusive prefix sum in (digit, block) order; skip the pass if one digit holds everything
+            boolean trivial = false;
+            int total = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int digitTotal = 0;
+                for (int b = 0; b < blocks; b++) {
+                    int c = counts[b][d];
+                    counts[b][d] = total;
+                    total += c;
+                    digitTotal += c;
+                }
+                if (digitTotal == length) trivial = true;
+            }
+            if (trivial) continue;
+
+            // 3. Stable scatter, every block into its own slots
+            forBlocks(pool, blocks, b -> {
+                int[] next = counts[b];
+                for (int i = b * blockSize, end = Math.min(length, i + blockSize); i < end; i++) {
+                    int slot = next[(inKey[i] >>> s) & MASK]++;
+                    outKey[slot] = inKey[i];
+                    outOrder[slot] = inOrder[i];
+                }
+            });
+
+            key = outKey;
+            keyOut = inKey;
+            order = outOrder;
+            orderOut = inOrder;
+        }
+        return order;
+    }
+
+    private interface BlockBody {
+        void run(int block);
+    }
+
+    private static void forBlocks(ForkJoinPool pool, int blocks, BlockBody body) {
+        if (blocks == 1) {
+            body.run(0);
+        } else {
+            pool.invoke(new BlockTask(body, 0, blocks));
+        }
+    }
+
+    private static final class BlockTask extends RecursiveAction {
+        private final BlockBody body;
+        private final int from, to;
+
+        BlockTask(BlockBody body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BlockTask(body, from, mid), new BlockTask(body, mid, to));
+            } else {
+                body.run(from);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] keys = {5, -3, 9, 5, 0, -3, 2048, 1};
+        int[] order = sortedOrder(keys);
+        System.out.println("Order:  " + Arrays.toString(order));
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) sorted[i] = keys[order[i]];
+        System.out.println("Sorted: " + Arrays.toString(sorted));
+    }
+}
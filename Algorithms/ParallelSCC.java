@@ -0,0 +1,389 @@
+/**
+ * Program Title: Parallel Strongly Connected Components (Trim + Forward-Backward + Coloring)
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: A multi-core alternative to TarjanSCC for very large directed graphs,
+ * following the trim / forward-backward / coloring scheme of Hong, Rodia and Olukotun:
+ *   1. Trim: a vertex with no remaining in-neighbour or no remaining out-neighbour
+ *      cannot lie on a cycle and is its own SCC. Rounds of this run in parallel
+ *      and typically remove most of the vertices of real-world graphs.
+ *   2. Forward-backward: from a high-degree pivot, a parallel BFS forward and one
+ *      backward; the vertices reached by both form the pivot's SCC, which is
+ *      usually the giant component.
+ *   3. Coloring: every remaining vertex starts with its own id as its colour and the
+ *      largest colour is pushed forward along edges until nothing changes. A vertex
+ *      whose colour is its own id is a root, and the vertices of that colour that reach
+ *      it backwards form its SCC. All roots are handled at once; the rest is
+ *      trimmed and coloured again until no vertex is left.
+ * Every step is a parallel loop over the remaining vertices or a BFS frontier on a
+ * ForkJoinPool; shared per-vertex state lives in AtomicIntegerArrays and is claimed
+ * with compare-and-set.
+ *
+ * The components are the same as TarjanSCC.findSCCs, but the ids are numbered
+ * differently (dense 0 .. k - 1, not in topological order); samePartition checks that.
+ *
+ * Time Complexity: O((V + E) * r) work, where r is the number of BFS and
+ * coloring rounds; usually a small multiple of V + E
+ * Space Complexity: O(V + E) (the reversed graph plus a few arrays of V ints)
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+public final class ParallelSCC {
+
+    private static final int LEAF = 2048;
+    // Trimming stops once a round removes less than 1/TRIM_CUTOFF of the remaining vertices
+    private static final int TRIM_CUTOFF = 64;
+    private static final int UNASSIGNED = -1;
+
+    private ParallelSCC() {
+    }
+
+    // Component id per vertex, computed on the common ForkJoinPool
+    public static int[] findSCCs(CsrGraph graph) {
+        return findSCCs(graph, graph.reverse(), ForkJoinPool.commonPool());
+    }
+
+    // reverse must be graph.reverse(); pass it in to reuse it across calls
+    public static int[] findSCCs(CsrGraph graph, CsrGraph reverse, ForkJoinPool pool) {
+        return new Run(graph, reverse, pool).solve();
+    }
+
+    // True if both labellings put exactly the same vertices together
+    public static boolean samePartition(int[] a, int[] b) {
+        if (a.length != b.length) return false;
+        int[] aToB = new int[a.length];
+        int[] bToA = new int[b.length];
+        Arrays.fill(aToB, -1);
+        Arrays.fill(bToA, -1);
+        for (int v = 0; v < a.length; v++) {
+            if (aToB[a[v]] == -1 && bToA[b[v]] == -1) {
+                aToB[a[v]] = b[v];
+                bToA[b[v]] = a[v];
+            } else if (aToB[a[v]] != b[v] || bToA[b[v]] != a[v]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Body of a parallel loop over the index range [from, to)
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from, to;
+
+        RangeTask(RangeBody body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(body, from, mid), new RangeTask(body, mid, to));
+            } else {
+                body.run(from, to);
+            }
+        }
+    }
+
+    // State of one decomposition
+    private static final class Run {
+        final int n;
+        final int[] outOffsets, outTargets, inOffsets, inTargets;
+        final ForkJoinPool pool;
+
+        // Representative vertex of v's SCC once known, UNASSIGNED while v is still active
+        final AtomicIntegerArray comp;
+        // Vertices not yet assigned to a component, compacted after every step
+        int[] active;
+        int activeCount;
+
+        // Scratch shared by the BFS and coloring steps
+        final AtomicIntegerArray mark;
+        final AtomicIntegerArray color;
+        int[] frontier, next;
+        int frontierSize;
+        final AtomicInteger nextSize = new AtomicInteger();
+        int stamp = 3; // mark values 1 .. 3 are the forward-backward bits
+
+        Run(CsrGraph graph, CsrGraph reverse, ForkJoinPool pool) {
+            n = graph.vertexCount();
+            outOffsets = graph.offsets;
+            outTargets = graph.targets;
+            inOffsets = reverse.offsets;
+            inTargets = reverse.targets;
+            this.pool = pool;
+            comp = new AtomicIntegerArray(n);
+            mark = new AtomicIntegerArray(n);
+            color = new AtomicIntegerArray(n);
+            active = new int[n];
+            frontier = new int[n];
+            next = new int[n];
+        }
+
+        int[] solve() {
+            activeCount = n;
+            forRange(n, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    comp.set(v, UNASSIGNED);
+                    active[v] = v;
+                }
+            });
+
+            trim();
+            if (activeCount > 0) {
+                forwardBackward(pivot());
+            }
+            while (activeCount > 0) {
+                trim();
+                if (activeCount > 0) colorRound();
+            }
+            return relabel();
+        }
+
+        void forRange(int size, RangeBody body) {
+            if (size <= LEAF) {
+                body.run(0, size); // not worth a hand-off to the pool
+            } else {
+                pool.invoke(new RangeTask(body, 0, size));
+            }
+        }
+
+        void compact() {
+            int kept = 0;
+            for (int i = 0; i < activeCount; i++) {
+                if (comp.get(active[i]) == UNASSIGNED) active[kept++] = active[i];
+            }
+            activeCount = kept;
+        }
+
+        // Removes vertices without active in- or out-neighbours. Concurrent removals are safe:
+        // a vertex only ever looks more removable as the round goes on, and the first vertex of
+        // any cycle to be checked still sees all of its cycle neighbours active.
+        void trim() {
+            AtomicInteger removed = new AtomicInteger();
+            while (activeCount > 0) {
+                removed.set(0);
+                forRange(activeCount, (from, to) -> {
+                    int local = 0;
+                    for (int i = from; i < to; i++) {
+                        int v = active[i];
+                        if (!hasActiveNeighbour(outOffsets, outTargets, v) || !hasActiveNeighbour(inOffsets, inTargets, v)) {
+                            comp.set(v, v);
+                            local++;
+                        }
+                    }
+                    removed.addAndGet(local);
+                });
+                int before = activeCount;
+                compact();
+                if ((long) removed.get() * TRIM_CUTOFF < before) break;
+            }
+        }
+
+        boolean hasActiveNeighbour(int[] offsets, int[] targets, int v) {
+            for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                int w = targets[e];
+                if (w != v && comp.get(w) == UNASSIGNED) return true;
+            }
+            return false;
+        }
+
+        // Active vertex with the largest in-degree + out-degree: likely inside the giant SCC
+        int pivot() {
+            LongAccumulator best = new LongAccumulator(Math::max, Long.MIN_VALUE);
+            forRange(activeCount, (from, to) -> {
+                long local = Long.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    int v = active[i];
+                    long degree = (long) (outOffsets[v + 1] - outOffsets[v]) + (inOffsets[v + 1] - inOffsets[v]);
+                    local = Math.max(local, degree << 32 | v);
+                }
+                best.accumulate(local);
+            });
+            return (int) best.get();
+        }
+
+        // The SCC of the pivot is everything reached both forwards (bit 1) and backwards (bit 2)
+        void forwardBackward(int pivot) {
+            bfs(pivot, outOffsets, outTargets, 1);
+            bfs(pivot, inOffsets, inTargets, 2);
+            forRange(activeCount, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = active[i];
+                    if (mark.get(v) == 3) comp.set(v, pivot);
+                }
+            });
+            compact();
+        }
+
+        // Level-synchronous parallel BFS over active vertices, setting the given bit in mark
+        void bfs(int source, int[] offsets, int[] targets, int bit) {
+            setBit(source, bit);
+            frontier[0] = source;
+            frontierSize = 1;
+            while (frontierSize > 0) {
+                nextSize.set(0);
+                forRange(frontierSize, (from, to) -> {
+                    int[] local = new int[64];
+                    int count = 0;
+                    for (int i = from; i < to; i++) {
+                        int u = frontier[i];
+                        for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                            int w = targets[e];
+                            if (comp.get(w) == UNASSIGNED && setBit(w, bit)) {
+                                if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                                local[count++] = w;
+                            }
+                        }
+                    }
+                    publish(local, count);
+                });
+                swapFrontiers();
+            }
+        }
+
+        boolean setBit(int v, int bit) {
+            while (true) {
+                int m = mark.get(v);
+                if ((m & bit) != 0) return false;
+                if (mark.compareAndSet(v, m, m | bit)) return true;
+            }
+        }
+
+        // Propagates the largest vertex id forward, then claims the SCC of every colour root
+        void colorRound() {
+            forRange(activeCount, (from, to) -> {
+                for (int i = from; i < to; i++) color.set(active[i], active[i]);
+            });
+            System.arraycopy(active, 0, frontier, 0, activeCount);
+            frontierSize = activeCount;
+
+            while (frontierSize > 0) {
+                int round = ++stamp;
+                nextSize.set(0);
+                forRange(frontierSize, (from, to) -> {
+                    int[] local = new int[64];
+                    int count = 0;
+                    for (int i = from; i < to; i++) {
+                        int u = frontier[i];
+                        int c = color.get(u);
+                        for (int e = outOffsets[u], end = outOffsets[u + 1]; e < end; e++) {
+                            int w = outTargets[e];
+                            if (comp.get(w) == UNASSIGNED && raiseColor(w, c) && mark.getAndSet(w, round) != round) {
+                                if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                                local[count++] = w;
+                            }
+                        }
+                    }
+                    publish(local, count);
+                });
+                swapFrontiers();
+            }
+
+            // Roots keep their own colour; each claims itself and seeds the backward search
+            nextSize.set(0);
+            forRange(activeCount, (from, to) -> {
+                int[] local = new int[64];
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    int v = active[i];
+                    if (color.get(v) == v) {
+                        comp.set(v, v);
+                        if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                        local[count++] = v;
+                    }
+                }
+                publish(local, count);
+            });
+            swapFrontiers();
+
+            // Backward BFS inside each colour; a vertex joins the SCC of the root of its colour
+            while (frontierSize > 0) {
+                nextSize.set(0);
+                forRange(frontierSize, (from, to) -> {
+                    int[] local = new int[64];
+                    int count = 0;
+                    for (int i = from; i < to; i++) {
+                        int v = frontier[i];
+                        int c = color.get(v);
+                        for (int e = inOffsets[v], end = inOffsets[v + 1]; e < end; e++) {
+                            int u = inTargets[e];
+                            if (color.get(u) == c && comp.compareAndSet(u, UNASSIGNED, c)) {
+                                if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                                local[count++] = u;
+                            }
+                        }
+                    }
+                    publish(local, count);
+                });
+                swapFrontiers();
+            }
+            compact();
+        }
+
+        // Atomic max: raise color[v] to c if that is larger
+        boolean raiseColor(int v, int c) {
+            int current = color.get(v);
+            while (c > current) {
+                if (color.compareAndSet(v, current, c)) return true;
+                current = color.get(v);
+            }
+            return false;
+        }
+
+        // Appends a task's local results to the next frontier
+        void publish(int[] local, int count) {
+            if (count > 0) {
+                int at = nextSize.getAndAdd(count);
+                System.arraycopy(local, 0, next, at, count);
+            }
+        }
+
+        void swapFrontiers() {
+            int[] t = frontier;
+            frontier = next;
+            next = t;
+            frontierSize = nextSize.get();
+        }
+
+        // Representative vertices become dense ids 0 .. k - 1
+        int[] relabel() {
+            int[] idOf = new int[n];
+            Arrays.fill(idOf, -1);
+            int[] result = new int[n];
+            int count = 0;
+            for (int v = 0; v < n; v++) {
+                int rep = comp.get(v);
+                if (idOf[rep] == -1) idOf[rep] = count++;
+                result[v] = idOf[rep];
+            }
+            return result;
+        }
+    }
+
+    public static void main(String[] args) {
+        CsrGraph graph = new CsrGraph.Builder(7)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 0, 1).addEdge(1, 3, 1)
+                .addEdge(3, 4, 1).addEdge(4, 5, 1).addEdge(5, 3, 1).addEdge(5, 6, 1)
+                .build();
+        int[] parallel = findSCCs(graph);
+        int[] tarjan = TarjanSCC.findSCCs(graph);
+        System.out.println("Parallel component ids: " + Arrays.toString(parallel));
+        System.out.println("Tarjan component ids:   " + Arrays.toString(tarjan));
+        System.out.println("Same components: " + samePartition(parallel, tarjan));
+    }
+}
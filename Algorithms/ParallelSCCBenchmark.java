@@ -0,0 +1,67 @@
+/**
+ * Program Title: Parallel SCC Thread Scaling Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Generates a random directed CsrGraph (a giant SCC plus many small
+ * and trivial components), times the sequential iterative TarjanSCC, then runs
+ * ParallelSCC on ForkJoinPools of 1, 2, 4, 8, ... threads (up to the number of
+ * available processors, or the count given on the command line). For each pool size
+ * it reports the best wall time, the speed-up over Tarjan and over one thread, and
+ * whether the components match Tarjan's up to relabelling.
+ *
+ * Usage: java ParallelSCCBenchmark [vertices] [averageDegree] [maxThreads]
+ * Time Complexity: O(runs * (V + E)) work per configuration
+ * Space Complexity: O(V + E)
+ */
+
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelSCCBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        CsrGraph graph = CsrGraph.randomGraph(n, n * degree, 1, false, 42);
+        CsrGraph reverse = graph.reverse();
+        System.out.println("Vertices: " + n + ", edges: " + graph.edgeCount());
+
+        int[] expected = TarjanSCC.findSCCs(graph);
+        long tarjan = bestOf(() -> TarjanSCC.findSCCs(graph));
+        int components = 0;
+        for (int id : expected) components = Math.max(components, id + 1);
+        System.out.printf("Sequential Tarjan: %9.1f ms  (%d components)%n", tarjan / 1e6, components);
+
+        long singleThread = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            int[] comp = ParallelSCC.findSCCs(graph, reverse, pool);
+            long best = bestOf(() -> ParallelSCC.findSCCs(graph, reverse, pool));
+            pool.shutdown();
+
+            if (threads == 1) singleThread = best;
+            System.out.printf("%3d threads: %9.1f ms  vs Tarjan %5.2fx  vs 1 thread %5.2fx  %s%n",
+                    threads, best / 1e6, (double) tarjan / best, (double) singleThread / best,
+                    ParallelSCC.samePartition(comp, expected) ? "matches Tarjan" : "MISMATCH");
+        }
+    }
+
+    // Best wall time in nanoseconds over MEASURED_RUNS, after WARMUP_RUNS unmeasured runs
+    private static long bestOf(Runnable run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Program Title: Parallel Sort Thread Scaling Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Compares AdvancedSorter.parallelIntroSort and parallelMergeSort with
+ * Arrays.parallelSort on int arrays of several sizes (1M to 500M elements by default) and
+ * two shapes: uniformly random values, and mostly sorted telemetry-like data (ascending
+ * timestamps where 1% of the samples arrive late and land out of place). Every sorter runs
+ * on ForkJoinPools of 1, 2, 4, ... threads up to the processor count (or the limit given on
+ * the command line). Arrays.parallelSort is invoked from inside the pool, so its subtasks
+ * run on that pool's workers. Each line reports the best time, the speed-up over one
+ * thread and whether the output is sorted with the same checksum as the input.
+ *
+ * A size is skipped when the heap cannot hold the input, a working copy and the merge
+ * buffer (12 bytes per element); run with e.g. -Xmx8g to reach 500M.
+ *
+ * Usage: java ParallelSortBenchmark [size,size,...] [maxThreads]
+ * Time Complexity: O(runs * threads * n log n) per size
+ * Space Complexity: O(n)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelSortBenchmark {
+
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+
+    private interface Sorter {
+        void sort(int[] arr, ForkJoinPool pool);
+    }
+
+    public static void main(String[] args) {
+        String sizeList = args.length > 0 ? args[0] : "1000000,10000000,100000000,500000000";
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String[] names = {"Arrays.parallelSort", "parallelIntroSort", "parallelMergeSort"};
+        Sorter[] sorters = {
+                (arr, pool) -> pool.submit(() -> Arrays.parallelSort(arr)).join(),
+                (arr, pool) -> AdvancedSorter.parallelIntroSort(arr, 0, arr.length, pool),
+                (arr, pool) -> AdvancedSorter.parallelMergeSort(arr, 0, arr.length, pool)
+        };
+
+        for (String token : sizeList.split(",")) {
+            int n = Integer.parseInt(token.trim());
+            long needed = 12L * n;
+            if (needed > Runtime.getRuntime().maxMemory()) {
+                System.out.printf("n = %,d skipped: needs about %d MB of heap%n", n, needed >> 20);
+                continue;
+            }
+            for (int shape = 0; shape < 2; shape++) {
+                int[] input = shape == 0 ? randomValues(n, 42) : mostlySorted(n, 42);
+                long checksum = checksum(input);
+                int[] work = new int[n];
+                System.out.printf("n = %,d, %s%n", n, shape == 0 ? "random" : "mostly sorted");
+
+                for (int s = 0; s < sorters.length; s++) {
+                    double singleThread = 0;
+                    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                        ForkJoinPool pool = new ForkJoinPool(threads);
+                        long best = Long.MAX_VALUE;
+                        boolean ok = true;
+                        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+                            System.arraycopy(input, 0, work, 0, n);
+                            long start = System.nanoTime();
+                            sorters[s].sort(work, pool);
+                            long elapsed = System.nanoTime() - start;
+                            if (run >= WARMUP_RUNS) best = Math.min(best, elapsed);
+                            ok &= isSorted(work) && checksum(work) == checksum;
+                        }
+                        pool.shutdown();
+
+                        double ms = best / 1e6;
+                        if (threads == 1) singleThread = ms;
+                        System.out.printf("  %-20s %3d threads: %10.1f ms  speed-up %5.2fx  %s%n",
+                                names[s], threads, ms, singleThread / ms, ok ? "sorted" : "WRONG");
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] randomValues(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] arr = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = random.nextInt();
+        }
+        return arr;
+    }
+
+    // Ascending timestamps with small steps; 1% of the samples are late by up to 10000 ticks
+    private static int[] mostlySorted(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] arr = new int[n];
+        int time = 0;
+        for (int i = 0; i < n; i++) {
+            time += random.nextInt(4);
+            arr[i] = random.nextInt(100) == 0 ? time - random.nextInt(10000) : time;
+        }
+        return arr;
+    }
+
+    private static boolean isSorted(int[] arr) {
+        for (int i = 1; i < arr.length; i++) {
+            if (arr[i - 1] > arr[i]) return false;
+        }
+        return true;
+    }
+
+    // Order-independent fingerprint of the multiset of values
+    private static long checksum(int[] arr) {
+        long sum = 0, mixed = 0;
+        for (int value : arr) {
+            sum += value;
+            mixed += (long) value * value ^ 0x9E3779B97F4A7C15L;
+        }
+        return sum * 31 + mixed;
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Program Title: Batch Multi-Agent Path Query Service
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Answers many grid path queries per frame on one shared map. The map
+ * (GridMap) is immutable and shared by all workers; every worker thread searches through
+ * its own GridAStar or JumpPointSearch context, kept in a ThreadLocal, so no query
+ * allocates per-cell state and no search data is shared between threads.
+ *
+ * findPaths() splits a batch into ranges of LEAF_QUERIES queries and fans them out over
+ * a ForkJoinPool. Each result is written to its query's slot, so paths come back in
+ * request order whatever order the workers finish in. Each batch reports its wall time,
+ * queries per second and expansions per query; the service also keeps running totals
+ * over all batches.
+ *
+ * Time Complexity: O(sum of per-query search cost / threads) per batch
+ * Space Complexity: O(rows * cols) per worker thread for its context, plus the paths
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PathQueryService {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int LEAF_QUERIES = 8;
+
+    public enum Algorithm {ASTAR, JUMP_POINT}
+
+    // One thread's search state; wraps a GridAStar or JumpPointSearch context
+    private interface Searcher {
+        int search(int start, int goal);
+
+        int[] path();
+
+        int expandedCount();
+    }
+
+    private final GridMap map;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Searcher> searchers;
+    private final LongAdder totalQueries = new LongAdder();
+    private final LongAdder totalExpansions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    public PathQueryService(GridMap map, Algorithm algorithm, boolean diagonal, ForkJoinPool pool) {
+        this.map = map;
+        this.pool = pool;
+        if (algorithm == Algorithm.ASTAR) {
+            GridAStar engine = new GridAStar(map, diagonal, 1.0);
+            searchers = ThreadLocal.withInitial(() -> {
+                GridAStar.Context context = new GridAStar.Context(engine);
+                return new Searcher() {
+                    public int search(int start, int goal) { return context.search(start, goal); }
+                    public int[] path() { return context.path(); }
+                    public int expandedCount() { return context.expandedCount(); }
+                };
+            });
+        } else {
+            JumpPointSearch engine = new JumpPointSearch(map, diagonal);
+            searchers = ThreadLocal.withInitial(() -> {
+                JumpPointSearch.Context context = new JumpPointSearch.Context(engine);
+                return new Searcher() {
+                    public int search(int start, int goal) { return context.search(start, goal); }
+                    public int[] path() { return context.path(); }
+                    public int expandedCount() { return context.expandedCount(); }
+                };
+            });
+        }
+    }
+
+    public GridMap map() {
+        return map;
+    }
+
+    /**
+     * Paths and costs of one batch, indexed like the request, plus its metrics.
+     */
+    public static final class BatchResult {
+        private final int[][] paths;
+        private final int[] costs;
+        private final long expansions;
+        private final long elapsedNanos;
+
+        BatchResult(int[][] paths, int[] costs, long expansions, long elapsedNanos) {
+            this.paths = paths;
+            this.costs = costs;
+            this.expansions = expansions;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Row-major cell ids from start to goal; empty when the goal is unreachable
+        public int[] path(int query) {
+            return paths[query];
+        }
+
+        public int cost(int query) {
+            return costs[query];
+        }
+
+        public int[] costs() {
+            return costs.clone();
+        }
+
+        public int size() {
+            return costs.length;
+        }
+
+        public long expansions() {
+            return expansions;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double queriesPerSecond() {
+            return costs.length / (elapsedNanos / 1e9);
+        }
+
+        public double expansionsPerQuery() {
+            return costs.length == 0 ? 0 : (double) expansions / costs.length;
+        }
+    }
+
+    /**
+     * Plans a path for every (starts[i], goals[i]) pair in parallel.
+     * Results are in the same order as the queries.
+     */
+    public BatchResult findPaths(int[] starts, int[] goals) {
+        if (starts.length != goals.length) throw new IllegalArgumentException("starts and goals differ in length");
+        int n = starts.length;
+        int[][] paths = new int[n][];
+        int[] costs = new int[n];
+        LongAdder expansions = new LongAdder();
+
+        long begin = System.nanoTime();
+        BatchTask task = new BatchTask(starts, goals, paths, costs, expansions, 0, n);
+        if (n <= LEAF_QUERIES) {
+            task.compute(); // not worth a hand-off to the pool
+        } else {
+            pool.invoke(task);
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        totalQueries.add(n);
+        totalExpansions.add(expansions.sum());
+        totalNanos.add(elapsed);
+        return new BatchResult(paths, costs, expansions.sum(), elapsed);
+    }
+
+    // Runs queries [from, to), splitting the range until it is small
+    private final class BatchTask extends RecursiveAction {
+        private final int[] starts, goals;
+        private final int[][] paths;
+        private final int[] costs;
+        private final LongAdder expansions;
+        private final int from, to;
+
+        BatchTask(int[] starts, int[] goals, int[][] paths, int[] costs, LongAdder expansions, int from, int to) {
+            this.starts = starts;
+            this.goals = goals;
+            this.paths = paths;
+            this.costs = costs;
+            this.expansions = expansions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_QUERIES) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BatchTask(starts, goals, paths, costs, expansions, from, mid),
+                        new BatchTask(starts, goals, paths, costs, expansions, mid, to));
+                return;
+            }
+
+            Searcher searcher = searchers.get();
+            long expanded = 0;
+            for (int i = from; i < to; i++) {
+                costs[i] = searcher.search(starts[i], goals[i]);
+                paths[i] = searcher.path();
+                expanded += searcher.expandedCount();
+            }
+            expansions.add(expanded);
+        }
+    }
+
+    public long totalQueries() {
+        return totalQueries.sum();
+    }
+
+    // Queries per second over all batches so far, counting only time spent inside findPaths
+    public double totalQueriesPerSecond() {
+        long nanos = totalNanos.sum();
+        return nanos == 0 ? 0 : totalQueries.sum() / (nanos / 1e9);
+    }
+
+    public double totalExpansionsPerQuery() {
+        long queries = totalQueries.sum();
+        return queries == 0 ? 0 : (double) totalExpansions.sum() / queries;
+    }
+
+    public static void main(String[] args) {
+        GridMap map = GridMap.fromStrings(
+                "..........",
+                "..###.....",
+                "....#.....",
+                "....#..#..",
+                "....#..#..",
+                ".####..#..",
+                ".......#..",
+                "......##..",
+                "..........",
+                "..........");
+        int[] starts = {map.cell(0, 0), map.cell(9, 0), map.cell(2, 2), map.cell(0, 9)};
+        int[] goals = {map.cell(7, 8), map.cell(0, 9), map.cell(1, 2), map.cell(9, 9)};
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        PathQueryService service = new PathQueryService(map, Algorithm.ASTAR, true, pool);
+        BatchResult result = service.findPaths(starts, goals);
+        for (int i = 0; i < result.size(); i++) {
+            System.out.println("Agent " + i + ": cost " + (result.cost(i) == UNREACHABLE ? "unreachable" : result.cost(i))
+                    + ", path " + Arrays.toString(result.path(i)));
+        }
+
+        // A larger frame: many agents on a random map, answered with both engines
+        GridMap big = GridMap.random(256, 256, 0.2, 7);
+        SplittableRandom random = new SplittableRandom(3);
+        int agents = 2000;
+        int[] from = new int[agents], to = new int[agents];
+        for (int i = 0; i < agents; i++) {
+            from[i] = random.nextInt(big.cellCount());
+            to[i] = random.nextInt(big.cellCount());
+        }
+        for (Algorithm algorithm : Algorithm.values()) {
+            PathQueryService frameService = new PathQueryService(big, algorithm, true, pool);
+            for (int frame = 0; frame < 3; frame++) {
+                result = frameService.findPaths(from, to);
+            }
+            System.out.printf("%-10s last frame: %.0f queries/s, %.1f expansions/query; all frames: %.0f queries/s%n",
+                    algorithm, result.queriesPerSecond(), result.expansionsPerQuery(), frameService.totalQueriesPerSecond());
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Program Title: Batch Path Query Service Thread Scaling Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Generates a random grid map and a frame of random agent queries, answers
+ * them once with a single GridAStar context as the reference, then runs the frame through
+ * PathQueryService on ForkJoinPools of 1, 2, 4, 8, ... threads (up to the number of
+ * available processors, or the count given on the command line). For each pool size and
+ * engine it reports the best frame time, queries per second, expansions per query, the
+ * speed-up over one thread, and whether every cost matches the reference in order.
+ *
+ * Usage: java PathQueryServiceBenchmark [side] [agents] [maxThreads]
+ * Time Complexity: O(runs * agents * side^2 log side) in the worst case
+ * Space Complexity: O(threads * side^2)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class PathQueryServiceBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int agents = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        GridMap map = GridMap.random(side, side, 0.2, 42);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] starts = new int[agents];
+        int[] goals = new int[agents];
+        for (int i = 0; i < agents; i++) {
+            starts[i] = random.nextInt(map.cellCount());
+            goals[i] = random.nextInt(map.cellCount());
+        }
+        System.out.println("Map " + side + " x " + side + ", " + agents + " queries per frame");
+
+        GridAStar.Context reference = new GridAStar.Context(new GridAStar(map, true, 1.0));
+        int[] expected = new int[agents];
+        long start = System.nanoTime();
+        for (int i = 0; i < agents; i++) {
+            expected[i] = reference.search(starts[i], goals[i]);
+        }
+        System.out.printf("Sequential A* reference: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        for (PathQueryService.Algorithm algorithm : PathQueryService.Algorithm.values()) {
+            double singleThread = 0;
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                PathQueryService service = new PathQueryService(map, algorithm, true, pool);
+
+                PathQueryService.BatchResult result = null;
+                for (int i = 0; i < WARMUP_RUNS; i++) {
+                    result = service.findPaths(starts, goals);
+                }
+                PathQueryService.BatchResult best = null;
+                for (int i = 0; i < MEASURED_RUNS; i++) {
+                    result = service.findPaths(starts, goals);
+                    if (best == null || result.elapsedNanos() < best.elapsedNanos()) best = result;
+                }
+                pool.shutdown();
+
+                double ms = best.elapsedNanos() / 1e6;
+                if (threads == 1) singleThread = ms;
+                System.out.printf("%-10s %3d threads: %8.1f ms  %9.0f queries/s  %8.1f expansions/query  speed-up %5.2fx  %s%n",
+                        algorithm, threads, ms, best.queriesPerSecond(), best.expansionsPerQuery(), singleThread / ms,
+                        Arrays.equals(result.costs(), expected) ? "matches" : "MISMATCH");
+            }
+        }
+    }
+}
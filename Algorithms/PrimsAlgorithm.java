@@ -6,6 +6,13 @@
  * Description: Finds the Minimum Spanning Tree (MST) of a connected, undirected
  * weighted graph using a Priority Queue (Min-Heap) to efficiently select the
  * next cheapest edge.
+ *
+ * The CsrGraph versions handle disconnected graphs: Prim is restarted from every
+ * vertex not yet reached, which yields a minimum spanning forest. primForest is the
+ * eager variant: an IndexedDaryHeap keeps one slot per vertex keyed by its cheapest
+ * edge into the tree, lowered with decrease-key, so the heap never holds more than V
+ * entries. It returns the parent array of the forest along with the total weight.
+ * The List<List<Edge>> entry point now runs on a CSR copy of its adjacency lists.
  * Time Complexity: O(E log V) (where E is edges, V is vertices)
  * Space Complexity: O(V + E)
  */
@@ -23,23 +30,56 @@ class Edge {
 }
 
 public class PrimsAlgorithm {
+    // Weight of the minimum spanning forest of the adjacency lists (a tree if connected);
+    // throws ArithmeticException if it exceeds Integer.MAX_VALUE, use prim(CsrGraph) for large totals
     public static int prim(int n, List<List<Edge>> adj) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(n);
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : adj.get(u)) {
+                builder.addEdge(u, edge.to, edge.weight);
+            }
+        }
+        return Math.toIntExact(primForest(builder.build()).totalWeight());
+    }
+
+    /**
+     * Prim over a CsrGraph (store both directions of every undirected edge) using the
+     * indexed heap. The total is a long so large graphs cannot overflow it.
+     */
+    public static long prim(CsrGraph graph) {
+        return prim(graph, QueueStrategy.INDEXED);
+    }
+
+    public static long prim(CsrGraph graph, QueueStrategy strategy) {
+        return strategy == QueueStrategy.LAZY ? lazyPrim(graph) : primForest(graph).totalWeight();
+    }
+
+    // Lazy variant: queue entries are packed as (weight << 32 | vertex) instead of Edge objects
+    private static long lazyPrim(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
         boolean[] visited = new boolean[n];
-        PriorityQueue<Edge> pq = new PriorityQueue<>(Comparator.comparingInt(e -> e.weight));
-        pq.offer(new Edge(0, 0)); // Start from node 0
-        int mstWeight = 0;
+        PriorityQueue<Long> pq = new PriorityQueue<>();
+        long mstWeight = 0;
 
-        while (!pq.isEmpty()) {
-            Edge current = pq.poll();
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) continue;
+            pq.offer((long) root); // Start a new tree with weight 0
 
-            if (visited[current.to]) continue;
+            while (!pq.isEmpty()) {
+                long entry = pq.poll();
+                int u = (int) entry;
 
-            visited[current.to] = true;
-            mstWeight += current.weight;
+                if (visited[u]) continue;
 
-            for (Edge neighbor : adj.get(current.to)) {
-                if (!visited[neighbor.to]) {
-                    pq.offer(neighbor);
+                visited[u] = true;
+                mstWeight += entry >> 32;
+
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (!visited[v]) {
+                        pq.offer(((long) weights[e] << 32) | v);
+                    }
                 }
             }
         }
@@ -47,6 +87,76 @@ public class PrimsAlgorithm {
         return mstWeight;
     }
 
+    // Minimum spanning forest as a parent array
+    public static final class Forest {
+        private final int[] parent;
+        private final int[] parentSlot;
+        private final long totalWeight;
+        private final int treeCount;
+
+        Forest(int[] parent, int[] parentSlot, long totalWeight, int treeCount) {
+            this.parent = parent;
+            this.parentSlot = parentSlot;
+            this.totalWeight = totalWeight;
+            this.treeCount = treeCount;
+        }
+
+        // parent[v] is v's neighbour towards the root of its tree, -1 for the roots
+        public int[] parent() {
+            return parent;
+        }
+
+        // CSR slot of the edge parent[v] -> v, -1 for the roots
+        public int[] parentSlot() {
+            return parentSlot;
+        }
+
+        public long totalWeight() {
+            return totalWeight;
+        }
+
+        // One tree per connected component
+        public int treeCount() {
+            return treeCount;
+        }
+    }
+
+    // Eager variant: the heap holds each unvisited vertex once, keyed by its cheapest edge to the tree
+    public static Forest primForest(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        boolean[] visited = new boolean[n];
+        int[] parent = new int[n];
+        int[] parentSlot = new int[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(parentSlot, -1);
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        long mstWeight = 0;
+        int trees = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) continue;
+            trees++;
+            heap.insert(root, 0); // Start a new tree from the lowest unreached vertex
+
+            while (!heap.isEmpty()) {
+                mstWeight += heap.peekKey();
+                int u = heap.poll();
+                visited[u] = true;
+
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (!visited[v] && heap.insertOrDecrease(v, weights[e])) {
+                        parent[v] = u;
+                        parentSlot[v] = e;
+                    }
+                }
+            }
+        }
+
+        return new Forest(parent, parentSlot, mstWeight, trees);
+    }
+
     public static void main(String[] args) {
         int n = 5; // number of nodes
         List<List<Edge>> adj = new ArrayList<>();
@@ -66,6 +176,31 @@ public class PrimsAlgorithm {
 
         int result = prim(n, adj);
         System.out.println("Total weight of MST: " + result);
+
+        // Same graph in CSR form
+        CsrGraph graph = new CsrGraph.Builder(n)
+                .addUndirectedEdge(0, 1, 2)
+                .addUndirectedEdge(0, 3, 6)
+                .addUndirectedEdge(1, 2, 3)
+                .addUndirectedEdge(1, 3, 8)
+                .addUndirectedEdge(1, 4, 5)
+                .addUndirectedEdge(2, 4, 7)
+                .addUndirectedEdge(3, 4, 9)
+                .build();
+        System.out.println("Total weight of MST (CSR, lazy): " + prim(graph, QueueStrategy.LAZY));
+        System.out.println("Total weight of MST (CSR, indexed heap): " + prim(graph, QueueStrategy.INDEXED));
+        System.out.println("Parent array: " + Arrays.toString(primForest(graph).parent()));
+
+        // Two components: {0, 1, 2} and {3, 4}
+        CsrGraph split = new CsrGraph.Builder(5)
+                .addUndirectedEdge(0, 1, 4)
+                .addUndirectedEdge(1, 2, 1)
+                .addUndirectedEdge(0, 2, 3)
+                .addUndirectedEdge(3, 4, 2)
+                .build();
+        Forest forest = primForest(split);
+        System.out.println("Forest of " + forest.treeCount() + " trees, weight " + forest.totalWeight()
+                + ", parent array: " + Arrays.toString(forest.parent()));
     }
 
     static void addEdge(List<List<Edge>> adj, int u, int v, int w) {
@@ -0,0 +1,15 @@
+/**
+ * Program Title: Priority Queue Strategy for Graph Searches
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Selects the priority queue used by Dijkstra and PrimsAlgorithm.
+ * LAZY is the classic java.util.PriorityQueue approach: every improvement pushes a
+ * new entry and stale entries are skipped when polled, so the queue can grow to O(E).
+ * INDEXED uses IndexedDaryHeap with decrease-key, so the queue never exceeds O(V)
+ * entries and nothing is allocated per relaxation.
+ */
+public enum QueueStrategy {
+    LAZY,
+    INDEXED
+}
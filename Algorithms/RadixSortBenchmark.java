@@ -0,0 +1,123 @@
+/**
+ * Program Title: Radix Sort vs IntroSort Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Times AdvancedSorter.lsdRadixSort and americanFlagSort against the
+ * comparison-based AdvancedSorter.introSort and Arrays.sort on int and long keys shaped like
+ * our data: uniformly random values, 20-bit IDs (the high digits are constant and skipped),
+ * and millisecond timestamps that arrive roughly in order. Every result is checked against
+ * Arrays.sort, and each line shows the best of several runs and the speed-up over introsort.
+ *
+ * Usage: java RadixSortBenchmark [size,size,...]
+ * Time Complexity: O(runs * n log n) per size and shape
+ * Space Complexity: O(n)
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class RadixSortBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+    private static final String[] SHAPES = {"random", "20-bit ids", "timestamps"};
+    private static final AdvancedSorter.Algorithm[] ALGORITHMS = {
+            AdvancedSorter.Algorithm.INTRO_SORT, AdvancedSorter.Algorithm.LSD_RADIX_SORT,
+            AdvancedSorter.Algorithm.AMERICAN_FLAG_SORT};
+
+    public static void main(String[] args) {
+        String sizeList = args.length > 0 ? args[0] : "100000,1000000,10000000";
+        for (String token : sizeList.split(",")) {
+            int n = Integer.parseInt(token.trim());
+            for (int shape = 0; shape < SHAPES.length; shape++) {
+                long[] longs = keys(n, shape, 42);
+                int[] ints = new int[n];
+                for (int i = 0; i < n; i++) {
+                    ints[i] = (int) longs[i];
+                }
+                System.out.printf("n = %,d, %s%n", n, SHAPES[shape]);
+                benchmarkInts(ints);
+                benchmarkLongs(longs);
+            }
+        }
+    }
+
+    private static void benchmarkInts(int[] input) {
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        int[] work = new int[input.length];
+        long reference = 0;
+        for (AdvancedSorter.Algorithm algorithm : ALGORITHMS) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+                System.arraycopy(input, 0, work, 0, input.length);
+                long start = System.nanoTime();
+                AdvancedSorter.sortArray(work, algorithm);
+                long elapsed = System.nanoTime() - start;
+                if (run >= WARMUP_RUNS) best = Math.min(best, elapsed);
+            }
+            if (reference == 0) reference = best;
+            report("int", algorithm.toString(), best, reference, Arrays.equals(work, expected));
+        }
+        report("int", "Arrays.sort", time(() -> Arrays.sort(input.clone())), reference, true);
+    }
+
+    private static void benchmarkLongs(long[] input) {
+        long[] expected = input.clone();
+        Arrays.sort(expected);
+        long[] work = new long[input.length];
+        long reference = 0;
+        for (AdvancedSorter.Algorithm algorithm : ALGORITHMS) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+                System.arraycopy(input, 0, work, 0, input.length);
+                long start = System.nanoTime();
+                AdvancedSorter.sortArray(work, algorithm);
+                long elapsed = System.nanoTime() - start;
+                if (run >= WARMUP_RUNS) best = Math.min(best, elapsed);
+            }
+            if (reference == 0) reference = best;
+            report("long", algorithm.toString(), best, reference, Arrays.equals(work, expected));
+        }
+        report("long", "Arrays.sort", time(() -> Arrays.sort(input.clone())), reference, true);
+    }
+
+    // Best time of the measured runs; includes the clone, which is small next to the sort
+    private static long time(Runnable sort) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            sort.run();
+            long elapsed = System.nanoTime() - start;
+            if (run >= WARMUP_RUNS) best = Math.min(best, elapsed);
+        }
+        return best;
+    }
+
+    private static void report(String type, String name, long nanos, long introNanos, boolean ok) {
+        System.out.printf("  %-5s %-19s %9.2f ms  %5.2fx vs introsort  %s%n",
+                type, name, nanos / 1e6, (double) introNanos / nanos, ok ? "sorted" : "WRONG");
+    }
+
+    private static long[] keys(int n, int shape, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] keys = new long[n];
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            switch (shape) {
+                case 0:
+                    keys[i] = random.nextLong();
+                    break;
+                case 1:
+                    keys[i] = random.nextInt(1 << 20);
+                    break;
+                default:
+                    // Mostly increasing; 2% of the events are reported up to a second late
+                    time += random.nextInt(3);
+                    keys[i] = random.nextInt(50) == 0 ? time - random.nextInt(1000) : time;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Program Title: Point-to-Point Shortest Path Benchmark
+ * Author: agent
+ * Date: 2026-10-17
+ *
+ * Description: Generates a road-like grid graph and answers the same batch of random
+ * point-to-point queries with every engine: plain Dijkstra with early exit
+ * (DijkstraQuery), BidirectionalDijkstra, AltSearch and ContractionHierarchy. It checks that all engines
+ * agree on every distance and reports the average query time and the average number
+ * of settled vertices, which is the main cost driver on large sparse graphs.
+ *
+ * Usage: java ShortestPathBenchmark [gridSide] [queries] [landmarks]
+ * Time Complexity: O(queries * (V + E) log V) in the worst case
+ * Space Complexity: O(k V + E)
+ */
+
+import java.util.SplittableRandom;
+
+public class ShortestPathBenchmark {
+
+    // A point-to-point engine under test; settled() reports the work done by the last query
+    interface Engine {
+        int distance(int source, int target);
+
+        int settled();
+    }
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int landmarkCount = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+
+        CsrGraph graph = CsrGraph.gridGraph(side, side, 100, 7);
+        int n = graph.vertexCount();
+        System.out.println("Grid " + side + " x " + side + ": " + n + " vertices, " + graph.edgeCount() + " edges");
+
+        SplittableRandom random = new SplittableRandom(11);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+        }
+
+        long start = System.nanoTime();
+        AltSearch.Landmarks landmarks = AltSearch.Landmarks.select(graph, landmarkCount);
+        System.out.printf("ALT preprocessing (%d landmarks): %.1f ms%n", landmarkCount, (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        System.out.printf("CH preprocessing: %.1f ms (%d edges incl. shortcuts)%n",
+                (System.nanoTime() - start) / 1e6, ch.edgeCount());
+
+        DijkstraQuery dijkstra = new DijkstraQuery(graph);
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra(graph);
+        AltSearch alt = new AltSearch(graph, landmarks);
+        ContractionHierarchy.Query chQuery = new ContractionHierarchy.Query(ch);
+
+        int[] expected = new int[queries];
+        dijkstra.runBatch(sources, targets, expected);
+
+        measure("Dijkstra (early exit)", new Engine() {
+            public int distance(int s, int t) { return dijkstra.run(s, t).distance(t); }
+            public int settled() { return dijkstra.settledCount(); }
+        }, sources, targets, expected);
+        measure("Bidirectional Dijkstra", new Engine() {
+            public int distance(int s, int t) { return bidirectional.distance(s, t); }
+            public int settled() { return bidirectional.settledCount(); }
+        }, sources, targets, expected);
+        measure("ALT", new Engine() {
+            public int distance(int s, int t) { return alt.distance(s, t); }
+            public int settled() { return alt.settledCount(); }
+        }, sources, targets, expected);
+        measure("Contraction Hierarchies", new Engine() {
+            public int distance(int s, int t) { return chQuery.distance(s, t); }
+            public int settled() { return chQuery.settledCount(); }
+        }, sources, targets, expected);
+    }
+
+    static void measure(String name, Engine engine, int[] sources, int[] targets, int[] expected) {
+        // Warm-up pass so the JIT has compiled the query loop
+        for (int i = 0; i < sources.length; i++) {
+            engine.distance(sources[i], targets[i]);
+        }
+
+        long settled = 0;
+        boolean correct = true;
+        long start = System.nanoTime();
+        for (int i = 0; i < sources.length; i++) {
+            correct &= engine.distance(sources[i], targets[i]) == expected[i];
+            settled += engine.settled();
+        }
+        double microsPerQuery = (System.nanoTime() - start) / 1e3 / sources.length;
+
+        System.out.printf("%-24s %10.1f us/query %10d settled/query  %s%n",
+                name, microsPerQuery, settled / sources.length, correct ? "ok" : "WRONG RESULTS");
+    }
+}
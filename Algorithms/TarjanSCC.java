@@ -5,69 +5,186 @@
 // Strongly Connected Components (SCCs) in a directed graph.
 // This algorithm uses DFS and low-link values to efficiently
 // detect all SCCs in O(V + E) time complexity.
+//
+// The DFS is iterative (Pearce's space-efficient variant): the call
+// stack and the SCC stack are plain int arrays, so long chains cannot
+// overflow the Java stack and no vertex is ever boxed. One rindex array
+// serves as both DFS index and low-link, and is finally turned into the
+// component ids, so a run needs about 4V ints plus V booleans.
+// condense() additionally builds the condensation DAG.
 
 import java.util.*;
 
 public class TarjanSCC {
-    private final int V; 
-    private final List<List<Integer>> adj; 
-    private int time; 
-    private final int[] disc; 
-    private final int[] low; 
-    private final boolean[] stackMember; 
-    private final Stack<Integer> stack; 
+    private final CsrGraph.Builder edges;
 
     public TarjanSCC(int vertices) {
-        V = vertices;
-        adj = new ArrayList<>();
-        for (int i = 0; i < vertices; i++) adj.add(new ArrayList<>());
-        disc = new int[vertices];
-        low = new int[vertices];
-        stackMember = new boolean[vertices];
-        stack = new Stack<>();
-        Arrays.fill(disc, -1); 
-        Arrays.fill(low, -1);
+        edges = new CsrGraph.Builder(vertices);
     }
 
     // Add a directed edge from u to v
     public void addEdge(int u, int v) {
-        adj.get(u).add(v);
+        edges.addEdge(u, v, 1);
     }
 
-    private void SCCUtil(int u) {
-        disc[u] = low[u] = ++time;
-        stack.push(u);
-        stackMember[u] = true;
-
-        for (int v : adj.get(u)) {
-            if (disc[v] == -1) { // If v is not visited
-                SCCUtil(v);
-                low[u] = Math.min(low[u], low[v]);
-            } else if (stackMember[v]) { // Back edge
-                low[u] = Math.min(low[u], disc[v]);
+    // Component id per vertex for the edges added so far (see findSCCs(CsrGraph))
+    public int[] findSCCs() {
+        return findSCCs(edges.build());
+    }
+
+    // Tarjan over a CsrGraph. Returns comp[v] = id of the SCC containing v;
+    // ids are assigned in the order components are completed (reverse topological).
+    public static int[] findSCCs(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+
+        // rindex[v] == 0: unvisited; while v is open it holds its low-link (a DFS index);
+        // once v's component is complete it holds a component number c, counting down from n,
+        // which is larger than every open index and so never lowers anyone's low-link
+        int[] rindex = new int[n];
+        boolean[] root = new boolean[n];
+        int[] callVertex = new int[n];
+        int[] callEdge = new int[n];
+        int[] stack = new int[n];
+        int index = 1, c = n, depth = 0, top = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (rindex[s] != 0) continue;
+            rindex[s] = index++;
+            root[s] = true;
+            callVertex[0] = s;
+            callEdge[0] = offsets[s];
+            depth = 1;
+
+            while (depth > 0) {
+                int v = callVertex[depth - 1];
+                int e = callEdge[depth - 1];
+                if (e < offsets[v + 1]) {
+                    int w = targets[e];
+                    if (rindex[w] == 0) {
+                        // Descend; the parent's edge cursor advances when w returns
+                        rindex[w] = index++;
+                        root[w] = true;
+                        callVertex[depth] = w;
+                        callEdge[depth] = offsets[w];
+                        depth++;
+                    } else {
+                        if (rindex[w] < rindex[v]) {
+                            rindex[v] = rindex[w];
+                            root[v] = false;
+                        }
+                        callEdge[depth - 1] = e + 1;
+                    }
+                    continue;
+                }
+
+                // v is finished
+                depth--;
+                if (root[v]) {
+                    index--;
+                    while (top > 0 && rindex[v] <= rindex[stack[top - 1]]) {
+                        rindex[stack[--top]] = c;
+                        index--;
+                    }
+                    rindex[v] = c--;
+                } else {
+                    stack[top++] = v;
+                }
+                if (depth > 0) {
+                    int u = callVertex[depth - 1];
+                    if (rindex[v] < rindex[u]) {
+                        rindex[u] = rindex[v];
+                        root[u] = false;
+                    }
+                    callEdge[depth - 1]++;
+                }
             }
         }
 
-        // If u is the root of an SCC
-        if (low[u] == disc[u]) {
-            System.out.print("SCC: ");
-            while (true) {
-                int v = stack.pop();
-                stackMember[v] = false;
-                System.out.print(v + " ");
-                if (v == u) break;
-            }
-            System.out.println();
+        // Component numbers n, n - 1, ... become ids 0, 1, ... in completion order
+        for (int v = 0; v < n; v++) {
+            rindex[v] = n - rindex[v];
         }
+        return rindex;
     }
 
-    public void findSCCs() {
-        for (int i = 0; i < V; i++) {
-            if (disc[i] == -1)
-                SCCUtil(i);
+    // Component ids plus the DAG obtained by contracting every SCC to one vertex
+    public static final class Condensation {
+        private final int[] comp;
+        private final CsrGraph dag;
+
+        Condensation(int[] comp, CsrGraph dag) {
+            this.comp = comp;
+            this.dag = dag;
+        }
+
+        public int componentCount() {
+            return dag.vertexCount();
+        }
+
+        // comp[v] as returned by findSCCs: reverse topological order
+        public int[] components() {
+            return comp;
+        }
+
+        // Vertex c is component c; one edge per connected pair of components, weighted with
+        // the lightest original edge between them. Every edge c -> d has d < c.
+        public CsrGraph dag() {
+            return dag;
         }
     }
 
+    public static Condensation condense(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+        int[] comp = findSCCs(graph);
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            count = Math.max(count, comp[v] + 1);
+        }
+
+        // Group vertices by component with a counting sort
+        int[] memberStart = new int[count + 1];
+        for (int v = 0; v < n; v++) memberStart[comp[v] + 1]++;
+        for (int k = 0; k < count; k++) memberStart[k + 1] += memberStart[k];
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(memberStart, count);
+        for (int v = 0; v < n; v++) members[next[comp[v]]++] = v;
+
+        // For each component, merge its outgoing cross edges per target component
+        int[] seenBy = new int[count];
+        int[] slotOf = new int[count];
+        Arrays.fill(seenBy, -1);
+        int[] src = new int[16], dst = new int[16], w = new int[16];
+        int m = 0;
+        for (int k = 0; k < count; k++) {
+            for (int i = memberStart[k]; i < memberStart[k + 1]; i++) {
+                int u = members[i];
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int d = comp[targets[e]];
+                    if (d == k) continue;
+                    if (seenBy[d] == k) {
+                        w[slotOf[d]] = Math.min(w[slotOf[d]], weights[e]);
+                        continue;
+                    }
+                    if (m == src.length) {
+                        src = Arrays.copyOf(src, m * 2);
+                        dst = Arrays.copyOf(dst, m * 2);
+                        w = Arrays.copyOf(w, m * 2);
+                    }
+                    seenBy[d] = k;
+                    slotOf[d] = m;
+                    src[m] = k;
+                    dst[m] = d;
+                    w[m] = weights[e];
+                    m++;
+                }
+            }
+        }
+        CsrGraph dag = CsrGraph.fromEdgeList(count, Arrays.copyOf(src, m), Arrays.copyOf(dst, m), Arrays.copyOf(w, m));
+        return new Condensation(comp, dag);
+    }
+
     public static void main(String[] args) {
         TarjanSCC g = new TarjanSCC(7);
         g.addEdge(0, 1);
@@ -80,6 +197,36 @@ public class TarjanSCC {
         g.addEdge(5, 6);
 
         System.out.println("Strongly Connected Components in the given graph:");
-        g.findSCCs();
+        int[] comp = g.findSCCs();
+        int count = 0;
+        for (int id : comp) count = Math.max(count, id + 1);
+        for (int k = 0; k < count; k++) {
+            System.out.print("SCC: ");
+            for (int v = 0; v < comp.length; v++) {
+                if (comp[v] == k) System.out.print(v + " ");
+            }
+            System.out.println();
+        }
+
+        CsrGraph graph = new CsrGraph.Builder(7)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 0, 1).addEdge(1, 3, 1)
+                .addEdge(3, 4, 1).addEdge(4, 5, 1).addEdge(5, 3, 1).addEdge(5, 6, 1)
+                .build();
+        Condensation condensation = condense(graph);
+        System.out.println("Component id per vertex (CSR): " + Arrays.toString(condensation.components()));
+        CsrGraph dag = condensation.dag();
+        for (int k = 0; k < dag.vertexCount(); k++) {
+            for (int e = dag.begin(k); e < dag.end(k); e++) {
+                System.out.println("Condensation edge: " + k + " -> " + dag.target(e));
+            }
+        }
+
+        // A 5 million vertex chain would overflow the stack of a recursive DFS
+        int n = 5_000_000;
+        CsrGraph.Builder chain = new CsrGraph.Builder(n, n);
+        for (int v = 0; v + 1 < n; v++) chain.addEdge(v, v + 1, 1);
+        chain.addEdge(n - 1, 0, 1);
+        int[] chainComp = findSCCs(chain.build());
+        System.out.println("Chain of " + n + " vertices closed into a cycle, SCC count: " + (Arrays.stream(chainComp).max().getAsInt() + 1));
     }
 }